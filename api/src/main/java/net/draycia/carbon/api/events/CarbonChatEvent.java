@@ -43,11 +43,14 @@ public class CarbonChatEvent implements ResultedCarbonEvent<CarbonChatEvent.Resu
     private final Component originalMessage;
     private final List<? extends Audience> recipients;
     private final ChatChannel chatChannel;
+    private final boolean snapshot;
     private Component message;
     private Result result = Result.ALLOWED;
 
     /**
-     * {@link ResultedCarbonEvent} that's called when players send messages in chat.
+     * {@link ResultedCarbonEvent} that's called when players send messages in chat.<br>
+     * The recipient and renderer lists are used as-is and not copied, so callers may pass
+     * lists they reuse between messages once the event has finished rendering.
      *
      * @param sender          the sender of the message
      * @param originalMessage the original message that was sent
@@ -69,6 +72,30 @@ public class CarbonChatEvent implements ResultedCarbonEvent<CarbonChatEvent.Resu
         this.recipients = recipients;
         this.renderers = renderers;
         this.chatChannel = chatChannel;
+        this.snapshot = false;
+    }
+
+    private CarbonChatEvent(final CarbonChatEvent event) {
+        this.sender = event.sender;
+        this.originalMessage = event.originalMessage;
+        this.message = event.message;
+        this.recipients = List.copyOf(event.recipients);
+        this.renderers = List.copyOf(event.renderers);
+        this.chatChannel = event.chatChannel;
+        this.result = event.result;
+        this.snapshot = true;
+    }
+
+    /**
+     * Returns an immutable copy of this event.<br>
+     * The recipients and renderers are copied, and the message and result can no longer be set.
+     *
+     * @return the snapshot
+     * @since 2.1.0
+     */
+    @Override
+    public CarbonChatEvent snapshot() {
+        return this.snapshot ? this : new CarbonChatEvent(this);
     }
 
     /**
@@ -118,6 +145,7 @@ public class CarbonChatEvent implements ResultedCarbonEvent<CarbonChatEvent.Resu
      * @since 2.0.0
      */
     public void message(final Component message) {
+        this.checkMutable();
         this.message = message;
     }
 
@@ -150,9 +178,16 @@ public class CarbonChatEvent implements ResultedCarbonEvent<CarbonChatEvent.Resu
 
     @Override
     public void result(final Result result) {
+        this.checkMutable();
         this.result = result;
     }
 
+    private void checkMutable() {
+        if (this.snapshot) {
+            throw new UnsupportedOperationException("Event snapshots are immutable");
+        }
+    }
+
     /**
      * The result of this event.
      *
@@ -26,4 +26,16 @@ package net.draycia.carbon.api.events;
  */
 public interface CarbonEvent {
 
+    /**
+     * Returns an immutable copy of this event, handed to observers that run
+     * after the event has been emitted.<br>
+     * Events without mutable state may return themselves.
+     *
+     * @return the immutable snapshot
+     * @since 2.1.0
+     */
+    default CarbonEvent snapshot() {
+        return this;
+    }
+
 }
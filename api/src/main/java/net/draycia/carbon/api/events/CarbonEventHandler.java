@@ -19,12 +19,25 @@
  */
 package net.draycia.carbon.api.events;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
-import net.kyori.event.EventBus;
+import net.draycia.carbon.api.CarbonChatProvider;
 import net.kyori.event.EventSubscriber;
 import net.kyori.event.EventSubscription;
 import net.kyori.event.PostResult;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 /**
@@ -35,13 +48,27 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 @DefaultQualifier(NonNull.class)
 public final class CarbonEventHandler {
 
-    private final EventBus<CarbonEvent> eventBus = EventBus.create(CarbonEvent.class, (type, event, subscriber) -> {
-        if (event instanceof ResultedCarbonEvent<@NonNull ?> rce) {
-            return !rce.result().cancelled();
-        }
+    private static final Subscription<?>[] NO_SUBSCRIPTIONS = new Subscription<?>[0];
+    private static final EventObserver<?>[] NO_OBSERVERS = new EventObserver<?>[0];
+    private static final int OBSERVER_THREADS = 2;
+    private static final int HISTOGRAM_BUCKETS = 24;
+    private static final long SLOW_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final List<Subscription<?>> subscriptions = new ArrayList<>();
+    private final List<EventObserver<?>> observers = new ArrayList<>();
+    private @Nullable ExecutorService observerExecutor;
+    private volatile boolean timingsEnabled = false;
+    private volatile long slowThresholdNanos = Long.MAX_VALUE;
+    private volatile int version = 0;
 
-        return true;
-    });
+    // Subscribers are compiled into a flat, post order sorted array per concrete event class
+    // and only recompiled after a subscription changed.
+    private final ClassValue<Dispatcher> dispatchers = new ClassValue<>() {
+        @Override
+        protected Dispatcher computeValue(final Class<?> type) {
+            return new Dispatcher(type);
+        }
+    };
 
     /**
      * Registers a subscriber for the given event class.
@@ -56,7 +83,14 @@ public final class CarbonEventHandler {
         final Class<T> eventClass,
         final EventSubscriber<T> subscriber
     ) {
-        return this.eventBus.subscribe(eventClass, subscriber);
+        final Subscription<T> subscription = new Subscription<>(eventClass, subscriber);
+
+        synchronized (this.subscriptions) {
+            this.subscriptions.add(subscription);
+            this.version++;
+        }
+
+        return subscription;
     }
 
     /**
@@ -77,7 +111,140 @@ public final class CarbonEventHandler {
         final boolean acceptsCancelled,
         final Consumer<T> consumer
     ) {
-        return this.eventBus.subscribe(eventClass, new EventSubscriberImpl<>(consumer, priority, acceptsCancelled));
+        return this.subscribe(eventClass, new EventSubscriberImpl<>(consumer, priority, acceptsCancelled));
+    }
+
+    /**
+     * Registers an observe-only subscriber for the given event class.<br>
+     * Observers receive an immutable {@link CarbonEvent#snapshot() snapshot} of the event after
+     * it has been emitted, on a separate executor, so slow observers can't delay the event itself.
+     * Observers can't modify or cancel the event.
+     *
+     * @param eventClass the class to observe
+     * @param observer   the observer that's executed after the event was emitted
+     * @param <T>        the class to observe
+     * @return           the subscription, so that it may be unregistered
+     * @since 2.1.0
+     */
+    public <T extends CarbonEvent> EventSubscription observe(
+        final Class<T> eventClass,
+        final Consumer<T> observer
+    ) {
+        return this.observe(eventClass, ObserverSettings.defaults(), batch -> batch.forEach(observer));
+    }
+
+    /**
+     * Registers an observe-only subscriber for the given event class, receiving events in batches.<br>
+     * Events are queued per observer, see {@link ObserverSettings} for the queue and batch limits.
+     *
+     * @param eventClass the class to observe
+     * @param settings   the queue, batching and overflow settings
+     * @param observer   the observer that's executed with batches of emitted events
+     * @param <T>        the class to observe
+     * @return           the subscription, so that it may be unregistered
+     * @since 2.1.0
+     */
+    public <T extends CarbonEvent> EventSubscription observe(
+        final Class<T> eventClass,
+        final ObserverSettings settings,
+        final Consumer<List<T>> observer
+    ) {
+        synchronized (this.subscriptions) {
+            if (this.observerExecutor == null) {
+                this.observerExecutor = Executors.newFixedThreadPool(OBSERVER_THREADS, new ThreadFactoryBuilder()
+                    .setNameFormat("CarbonChat-Event-Observer-%d")
+                    .setDaemon(true)
+                    .build());
+            }
+
+            final EventObserver<T> eventObserver =
+                new EventObserver<>(eventClass, settings, observer, this.observerExecutor, this::unobserve);
+
+            this.observers.add(eventObserver);
+            this.version++;
+
+            return eventObserver;
+        }
+    }
+
+    /**
+     * Unsubscribes all observers and stops the observer executor.<br>
+     * Called by the platform when Carbon is disabled. Events that weren't delivered
+     * yet are dropped, observers registered afterwards get a new executor.
+     *
+     * @since 2.1.0
+     */
+    public void shutdown() {
+        synchronized (this.subscriptions) {
+            for (final EventObserver<?> observer : List.copyOf(this.observers)) {
+                observer.unsubscribe();
+            }
+
+            if (this.observerExecutor != null) {
+                this.observerExecutor.shutdown();
+                this.observerExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * Enables or disables per-subscriber timings.<br>
+     * While enabled, each subscriber invocation is timed and subscribers taking longer than
+     * the threshold are logged. Disabled timings add no overhead beyond a single check per event.
+     *
+     * @param enabled            whether subscribers should be timed
+     * @param slowThresholdNanos invocations slower than this are logged, in nanoseconds
+     * @since 2.1.0
+     */
+    public void timings(final boolean enabled, final long slowThresholdNanos) {
+        this.slowThresholdNanos = slowThresholdNanos;
+        this.timingsEnabled = enabled;
+    }
+
+    /**
+     * Whether per-subscriber timings are being recorded.
+     *
+     * @return if timings are enabled
+     * @since 2.1.0
+     */
+    public boolean timingsEnabled() {
+        return this.timingsEnabled;
+    }
+
+    /**
+     * Returns the recorded timings of every subscriber that has been invoked while timings were enabled,
+     * slowest total time first.
+     *
+     * @return the subscriber timings
+     * @since 2.1.0
+     */
+    public List<SubscriberTimings> timings() {
+        final List<SubscriberTimings> timings = new ArrayList<>();
+
+        synchronized (this.subscriptions) {
+            for (final Subscription<?> subscription : this.subscriptions) {
+                if (subscription.invocations.sum() > 0) {
+                    timings.add(subscription.timings());
+                }
+            }
+        }
+
+        timings.sort(Comparator.comparingLong(SubscriberTimings::totalNanos).reversed());
+
+        return timings;
+    }
+
+    /**
+     * Clears all recorded subscriber timings.
+     *
+     * @since 2.1.0
+     */
+    public void resetTimings() {
+        synchronized (this.subscriptions) {
+            for (final Subscription<?> subscription : this.subscriptions) {
+                subscription.resetTimings();
+            }
+        }
     }
 
     /**
@@ -90,7 +257,198 @@ public final class CarbonEventHandler {
      * @since 2.0.0
      */
     public PostResult emit(final CarbonEvent event) {
-        return this.eventBus.post(event);
+        final Compiled compiled = this.dispatchers.get(event.getClass()).compiled();
+        final Subscription<?>[] subscriptions = compiled.subscriptions();
+        final @Nullable ResultedCarbonEvent<?> resulted = event instanceof ResultedCarbonEvent<?> rce ? rce : null;
+        final boolean timed = this.timingsEnabled;
+        @Nullable Map<EventSubscriber<?>, Throwable> exceptions = null;
+
+        for (final Subscription<?> subscription : subscriptions) {
+            if (resulted != null && !subscription.subscriber.acceptsCancelled() && resulted.result().cancelled()) {
+                continue;
+            }
+
+            try {
+                if (timed) {
+                    final long start = System.nanoTime();
+
+                    try {
+                        subscription.post(event);
+                    } finally {
+                        subscription.record(System.nanoTime() - start, this.slowThresholdNanos);
+                    }
+                } else {
+                    subscription.post(event);
+                }
+            } catch (final Throwable throwable) {
+                if (exceptions == null) {
+                    exceptions = new HashMap<>();
+                }
+
+                exceptions.put(subscription.subscriber, throwable);
+            }
+        }
+
+        final EventObserver<?>[] observers = compiled.observers();
+
+        if (observers.length > 0) {
+            final CarbonEvent snapshot = event.snapshot();
+
+            for (final EventObserver<?> observer : observers) {
+                observer.offer(snapshot);
+            }
+        }
+
+        return exceptions == null ? PostResult.success() : PostResult.failure(exceptions);
+    }
+
+    private void unobserve(final EventObserver<?> observer) {
+        synchronized (this.subscriptions) {
+            if (this.observers.remove(observer)) {
+                this.version++;
+            }
+        }
+    }
+
+    private void unsubscribe(final Subscription<?> subscription) {
+        synchronized (this.subscriptions) {
+            if (this.subscriptions.remove(subscription)) {
+                this.version++;
+            }
+        }
+    }
+
+    private static String subscriberName(final EventSubscriber<?> subscriber) {
+        final Object target = subscriber instanceof EventSubscriberImpl<?> impl ? impl.consumer() : subscriber;
+        final String name = target.getClass().getName();
+        final int lambdaIndex = name.indexOf("$$Lambda");
+
+        return lambdaIndex == -1 ? name : name.substring(0, lambdaIndex);
+    }
+
+    private record Compiled(int version, Subscription<?>[] subscriptions, EventObserver<?>[] observers) {
+
+    }
+
+    private final class Dispatcher {
+
+        private final Class<?> type;
+        private volatile Compiled compiled = new Compiled(-1, NO_SUBSCRIPTIONS, NO_OBSERVERS);
+
+        private Dispatcher(final Class<?> type) {
+            this.type = type;
+        }
+
+        private Compiled compiled() {
+            final Compiled compiled = this.compiled;
+
+            if (compiled.version() == CarbonEventHandler.this.version) {
+                return compiled;
+            }
+
+            return this.compile();
+        }
+
+        private Compiled compile() {
+            synchronized (CarbonEventHandler.this.subscriptions) {
+                final List<Subscription<?>> matching = new ArrayList<>();
+
+                for (final Subscription<?> subscription : CarbonEventHandler.this.subscriptions) {
+                    if (subscription.eventClass.isAssignableFrom(this.type)) {
+                        matching.add(subscription);
+                    }
+                }
+
+                // List.sort is stable, subscribers with the same post order keep their registration order
+                matching.sort(Comparator.comparingInt(subscription -> subscription.subscriber.postOrder()));
+
+                final List<EventObserver<?>> observers = new ArrayList<>();
+
+                for (final EventObserver<?> observer : CarbonEventHandler.this.observers) {
+                    if (observer.accepts(this.type)) {
+                        observers.add(observer);
+                    }
+                }
+
+                final Compiled compiled = new Compiled(CarbonEventHandler.this.version,
+                    matching.toArray(NO_SUBSCRIPTIONS), observers.toArray(NO_OBSERVERS));
+                this.compiled = compiled;
+
+                return compiled;
+            }
+        }
+
+    }
+
+    private final class Subscription<T extends CarbonEvent> implements EventSubscription {
+
+        private final Class<T> eventClass;
+        private final EventSubscriber<T> subscriber;
+        private final String name;
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_BUCKETS);
+        private final AtomicLong lastWarning = new AtomicLong(System.nanoTime() - SLOW_WARNING_INTERVAL_NANOS);
+
+        private Subscription(final Class<T> eventClass, final EventSubscriber<T> subscriber) {
+            this.eventClass = eventClass;
+            this.subscriber = subscriber;
+            this.name = subscriberName(subscriber);
+        }
+
+        private void record(final long nanos, final long slowThresholdNanos) {
+            this.invocations.increment();
+            this.totalNanos.add(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+
+            final long micros = nanos / 1000L;
+            final int bucket = micros == 0 ? 0 : Math.min(64 - Long.numberOfLeadingZeros(micros), HISTOGRAM_BUCKETS - 1);
+            this.histogram.incrementAndGet(bucket);
+
+            if (nanos > slowThresholdNanos) {
+                final long now = System.nanoTime();
+                final long last = this.lastWarning.get();
+
+                // Don't flood the console when a subscriber is consistently slow
+                if (now - last >= SLOW_WARNING_INTERVAL_NANOS && this.lastWarning.compareAndSet(last, now)) {
+                    CarbonChatProvider.carbonChat().logger().warn("Slow {} subscriber {} took {}ms (budget {}ms)",
+                        this.eventClass.getSimpleName(), this.name, nanos / 1_000_000D, slowThresholdNanos / 1_000_000D);
+                }
+            }
+        }
+
+        private SubscriberTimings timings() {
+            final long[] histogram = new long[HISTOGRAM_BUCKETS];
+
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = this.histogram.get(i);
+            }
+
+            return new SubscriberTimings(this.name, this.eventClass, this.subscriber.postOrder(),
+                this.invocations.sum(), this.totalNanos.sum(), this.maxNanos.get(), histogram);
+        }
+
+        private void resetTimings() {
+            this.invocations.reset();
+            this.totalNanos.reset();
+            this.maxNanos.set(0L);
+
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                this.histogram.set(i, 0L);
+            }
+        }
+
+        private void post(final CarbonEvent event) throws Throwable {
+            this.subscriber.on(this.eventClass.cast(event));
+        }
+
+        @Override
+        public void unsubscribe() {
+            CarbonEventHandler.this.unsubscribe(this);
+        }
+
     }
 
 }
@@ -0,0 +1,155 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.api.events;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import net.kyori.event.EventSubscription;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Observe-only subscriber, receives event snapshots in batches on the observer executor.<br>
+ * At most one drain task per observer is queued on the executor at a time.
+ */
+@DefaultQualifier(NonNull.class)
+final class EventObserver<T extends CarbonEvent> implements EventSubscription {
+
+    private final Class<T> eventClass;
+    private final ObserverSettings settings;
+    private final Consumer<List<T>> observer;
+    private final Executor executor;
+    private final Consumer<EventObserver<?>> unsubscribe;
+
+    private final ArrayDeque<T> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean active = true;
+
+    EventObserver(
+        final Class<T> eventClass,
+        final ObserverSettings settings,
+        final Consumer<List<T>> observer,
+        final Executor executor,
+        final Consumer<EventObserver<?>> unsubscribe
+    ) {
+        this.eventClass = eventClass;
+        this.settings = settings;
+        this.observer = observer;
+        this.executor = executor;
+        this.unsubscribe = unsubscribe;
+        this.queue = new ArrayDeque<>(Math.min(settings.queueCapacity(), 64));
+    }
+
+    boolean accepts(final Class<?> type) {
+        return this.eventClass.isAssignableFrom(type);
+    }
+
+    void offer(final CarbonEvent snapshot) {
+        if (!this.active || !this.eventClass.isInstance(snapshot)) {
+            return;
+        }
+
+        synchronized (this.queue) {
+            if (this.queue.size() >= this.settings.queueCapacity()) {
+                if (this.settings.overflow() == ObserverSettings.OverflowPolicy.DROP_NEWEST) {
+                    return;
+                }
+
+                this.queue.pollFirst();
+            }
+
+            this.queue.addLast(this.eventClass.cast(snapshot));
+        }
+
+        this.schedule();
+    }
+
+    private void schedule() {
+        if (this.scheduled.compareAndSet(false, true)) {
+            this.executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<T> batch;
+
+            while (this.active && !(batch = this.poll()).isEmpty()) {
+                try {
+                    this.observer.accept(batch);
+                } catch (final Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            }
+        } finally {
+            this.scheduled.set(false);
+        }
+
+        // Events may have been queued after the last poll but before the flag was cleared
+        final boolean pending;
+
+        synchronized (this.queue) {
+            pending = !this.queue.isEmpty();
+        }
+
+        if (pending && this.active) {
+            this.schedule();
+        }
+    }
+
+    private List<T> poll() {
+        synchronized (this.queue) {
+            final int size = Math.min(this.queue.size(), this.settings.batchSize());
+
+            if (size == 0) {
+                return List.of();
+            }
+
+            final List<T> batch = new ArrayList<>(size);
+
+            for (int i = 0; i < size; i++) {
+                final @Nullable T event = this.queue.pollFirst();
+
+                if (event != null) {
+                    batch.add(event);
+                }
+            }
+
+            return batch;
+        }
+    }
+
+    @Override
+    public void unsubscribe() {
+        this.active = false;
+
+        synchronized (this.queue) {
+            this.queue.clear();
+        }
+
+        this.unsubscribe.accept(this);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.api.events;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Settings for observe-only event subscribers, see
+ * {@link CarbonEventHandler#observe(Class, ObserverSettings, java.util.function.Consumer)}.
+ *
+ * @param queueCapacity the maximum amount of events waiting to be observed
+ * @param batchSize     the maximum amount of events handed to the observer at once
+ * @param overflow      what happens to events when the queue is full
+ * @since 2.1.0
+ */
+@DefaultQualifier(NonNull.class)
+public record ObserverSettings(int queueCapacity, int batchSize, OverflowPolicy overflow) {
+
+    private static final ObserverSettings DEFAULTS = new ObserverSettings(1024, 1, OverflowPolicy.DROP_NEWEST);
+
+    /**
+     * Validates the settings.
+     *
+     * @param queueCapacity the maximum amount of events waiting to be observed
+     * @param batchSize     the maximum amount of events handed to the observer at once
+     * @param overflow      what happens to events when the queue is full
+     * @since 2.1.0
+     */
+    public ObserverSettings {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be positive");
+        }
+
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+    }
+
+    /**
+     * The default settings, events are observed one at a time and newer events are
+     * dropped when more than 1024 are waiting.
+     *
+     * @return the default settings
+     * @since 2.1.0
+     */
+    public static ObserverSettings defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * What to do with events that arrive while the observer's queue is full.
+     *
+     * @since 2.1.0
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the event that just arrived.
+         *
+         * @since 2.1.0
+         */
+        DROP_NEWEST,
+
+        /**
+         * Drop the oldest queued event to make room for the new one.
+         *
+         * @since 2.1.0
+         */
+        DROP_OLDEST
+
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.api.events;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Invocation timings of a single event subscriber, see {@link CarbonEventHandler#timings()}.<br>
+ * Bucket {@code i} of the histogram counts invocations that took less than {@code 2^i} microseconds,
+ * the last bucket counts everything slower.
+ *
+ * @param subscriber  the subscriber's name, usually the class that registered it
+ * @param eventClass  the class the subscriber listens for
+ * @param postOrder   the subscriber's post order
+ * @param invocations how often the subscriber was called
+ * @param totalNanos  the total time spent in the subscriber
+ * @param maxNanos    the slowest invocation
+ * @param histogram   the latency histogram
+ * @since 2.1.0
+ */
+@DefaultQualifier(NonNull.class)
+public record SubscriberTimings(
+    String subscriber,
+    Class<?> eventClass,
+    int postOrder,
+    long invocations,
+    long totalNanos,
+    long maxNanos,
+    long[] histogram
+) {
+
+    /**
+     * The average time spent per invocation.
+     *
+     * @return the average in nanoseconds
+     * @since 2.1.0
+     */
+    public long averageNanos() {
+        return this.invocations == 0 ? 0 : this.totalNanos / this.invocations;
+    }
+
+    /**
+     * The upper bound of the histogram bucket containing the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the approximate latency in nanoseconds
+     * @since 2.1.0
+     */
+    public long percentileNanos(final double percentile) {
+        final long target = (long) Math.ceil(this.invocations * percentile);
+        long seen = 0;
+
+        for (int i = 0; i < this.histogram.length - 1; i++) {
+            seen += this.histogram[i];
+
+            if (seen >= target) {
+                return (1L << i) * 1000L;
+            }
+        }
+
+        return this.maxNanos;
+    }
+
+}
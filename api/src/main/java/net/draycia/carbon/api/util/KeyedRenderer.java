@@ -19,8 +19,10 @@
  */
 package net.draycia.carbon.api.util;
 
+import java.util.function.Predicate;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.key.Keyed;
 import net.kyori.adventure.text.Component;
@@ -48,12 +50,176 @@ public interface KeyedRenderer extends Keyed, ChatComponentRenderer {
         return new Impl(key, renderer);
     }
 
+    /**
+     * Creates a new renderer with the corresponding key that's only applied to some recipients.
+     *
+     * @param key           the renderer's key
+     * @param applicability the recipients the renderer applies to
+     * @param renderer      the chat renderer
+     * @return the keyed renderer
+     * @see #appliesTo(Audience)
+     * @since 2.1.0
+     */
+    static KeyedRenderer keyedRenderer(
+        final Key key,
+        final Predicate<Audience> applicability,
+        final ChatComponentRenderer renderer
+    ) {
+        return new Impl(key, renderer, applicability);
+    }
+
+    /**
+     * Creates a new renderer with the corresponding key that only transforms the component.<br>
+     * The message type of the previous renderer in the chain is kept, so chains made of these
+     * renderers don't need a {@link RenderedMessage} for every step.
+     *
+     * @param key      the renderer's key
+     * @param renderer the component renderer
+     * @return the keyed renderer
+     * @since 2.1.0
+     */
+    static KeyedRenderer componentRenderer(final Key key, final ComponentRenderer renderer) {
+        return new ComponentImpl(key, renderer, recipient -> true);
+    }
+
+    /**
+     * Creates a new component renderer with the corresponding key that's only applied to some recipients.
+     *
+     * @param key           the renderer's key
+     * @param applicability the recipients the renderer applies to
+     * @param renderer      the component renderer
+     * @return the keyed renderer
+     * @see #appliesTo(Audience)
+     * @since 2.1.0
+     */
+    static KeyedRenderer componentRenderer(
+        final Key key,
+        final Predicate<Audience> applicability,
+        final ComponentRenderer renderer
+    ) {
+        return new ComponentImpl(key, renderer, applicability);
+    }
+
+    /**
+     * Whether this renderer changes the message for the recipient.<br>
+     * Renderers are skipped entirely for recipients they don't apply to, for example a
+     * renderer that only decorates the message for spies, mentioned players, or the console.
+     *
+     * @param recipient a recipient of the message.
+     *                  may be a player, console, or other Audience implementations
+     * @return false if rendering for the recipient would return the message unchanged
+     * @since 2.1.0
+     */
+    default boolean appliesTo(final Audience recipient) {
+        return true;
+    }
+
+    /**
+     * Whether this renderer always keeps the message type of the message it's given.<br>
+     * If true, {@link #renderComponent(CarbonPlayer, Audience, Component, Component)} may be
+     * called instead of {@link #render(CarbonPlayer, Audience, Component, Component)}.
+     *
+     * @return if the message type is never changed by this renderer
+     * @since 2.1.0
+     */
+    default boolean preservesMessageType() {
+        return false;
+    }
+
+    /**
+     * Renders only the component for the specified recipient.
+     *
+     * @param sender          the player that sent the message
+     * @param recipient       a recipient of the message.
+     *                        may be a player, console, or other Audience implementations
+     * @param message         the message being sent
+     * @param originalMessage the original message that was sent
+     * @return the component to be shown to the recipient
+     * @since 2.1.0
+     */
+    default Component renderComponent(
+        final CarbonPlayer sender,
+        final Audience recipient,
+        final Component message,
+        final Component originalMessage
+    ) {
+        return this.render(sender, recipient, message, originalMessage).component();
+    }
+
+    /**
+     * Renderer that only transforms the component of a message.
+     *
+     * @since 2.1.0
+     */
+    @FunctionalInterface
+    interface ComponentRenderer {
+
+        /**
+         * Renders a Component for the specified recipient.
+         *
+         * @param sender          the player that sent the message
+         * @param recipient       a recipient of the message.
+         *                        may be a player, console, or other Audience implementations
+         * @param message         the message being sent
+         * @param originalMessage the original message that was sent
+         * @return the component to be shown to the recipient
+         * @since 2.1.0
+         */
+        Component render(
+            CarbonPlayer sender,
+            Audience recipient,
+            Component message,
+            Component originalMessage
+        );
+
+    }
+
     /**
      * Implementation of the keyed renderer.
      *
      * @since 2.0.0
      */
-    record Impl(Key key, ChatComponentRenderer renderer) implements KeyedRenderer {
+    record Impl(Key key, ChatComponentRenderer renderer, Predicate<Audience> applicability) implements KeyedRenderer {
+
+        /**
+         * Creates a keyed renderer that applies to every recipient.
+         *
+         * @param key      the renderer's key
+         * @param renderer the chat renderer
+         * @since 2.0.0
+         */
+        public Impl(final Key key, final ChatComponentRenderer renderer) {
+            this(key, renderer, recipient -> true);
+        }
+
+        @Override
+        public boolean appliesTo(final Audience recipient) {
+            return this.applicability.test(recipient);
+        }
+
+        @Override
+        public @NotNull RenderedMessage render(
+            final CarbonPlayer sender,
+            final Audience recipient,
+            final Component message,
+            final Component originalMessage
+        ) {
+            return this.renderer.render(sender, recipient, message, originalMessage);
+        }
+
+    }
+
+    /**
+     * Implementation of the keyed component renderer.
+     *
+     * @since 2.1.0
+     */
+    record ComponentImpl(Key key, ComponentRenderer renderer, Predicate<Audience> applicability) implements KeyedRenderer {
+
+        @Override
+        public boolean appliesTo(final Audience recipient) {
+            return this.applicability.test(recipient);
+        }
 
         @Override
         public @NotNull RenderedMessage render(
@@ -61,6 +227,21 @@ public interface KeyedRenderer extends Keyed, ChatComponentRenderer {
             final Audience recipient,
             final Component message,
             final Component originalMessage
+        ) {
+            return new RenderedMessage(this.renderer.render(sender, recipient, message, originalMessage), MessageType.CHAT);
+        }
+
+        @Override
+        public boolean preservesMessageType() {
+            return true;
+        }
+
+        @Override
+        public Component renderComponent(
+            final CarbonPlayer sender,
+            final Audience recipient,
+            final Component message,
+            final Component originalMessage
         ) {
             return this.renderer.render(sender, recipient, message, originalMessage);
         }
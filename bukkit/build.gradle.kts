@@ -1,3 +1,5 @@
+import net.minecrell.pluginyml.bukkit.BukkitPluginDescription.Permission
+
 plugins {
   id("carbon.shadow-platform")
   id("net.minecrell.plugin-yml.bukkit")
@@ -112,6 +114,10 @@ bukkit {
     register("carbon.reload") {
       description = "Reloads Carbon's config, channel settings, and translations."
     }
+    register("carbon.timings") {
+      description = "Shows and resets the timings of Carbon's chat event listeners."
+      default = Permission.Default.OP
+    }
     register("carbon.whisper") {
       description = "Sends private messages to other players."
     }
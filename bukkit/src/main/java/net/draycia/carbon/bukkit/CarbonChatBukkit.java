@@ -41,8 +41,12 @@ import net.draycia.carbon.bukkit.listeners.DiscordMessageListener;
 import net.draycia.carbon.bukkit.util.BukkitMessageRenderer;
 import net.draycia.carbon.bukkit.util.CarbonChatHook;
 import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.channels.ChannelFileWatcher;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.ChatRelay;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PlayerStateSync;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.draycia.carbon.common.util.ListenerUtils;
 import net.draycia.carbon.common.util.PlayerUtils;
@@ -146,6 +150,11 @@ public final class CarbonChatBukkit extends JavaPlugin implements CarbonChat {
 
     @Override
     public void onDisable() {
+        this.injector.getInstance(ChannelFileWatcher.class).stop();
+        this.injector.getInstance(ChatRelay.class).stop();
+        this.injector.getInstance(PlayerDirectory.class).stop();
+        this.injector.getInstance(PlayerStateSync.class).stop();
+        this.eventHandler.shutdown();
         PlayerUtils.saveLoggedInPlayers(this.carbonServerBukkit, this.userManager).forEach(CompletableFuture::join);
     }
 
@@ -27,18 +27,23 @@ import cloud.commandframework.paper.PaperCommandManager;
 import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.OptionalBinder;
 import java.nio.file.Path;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.bukkit.command.BukkitCommander;
 import net.draycia.carbon.bukkit.command.BukkitPlayerCommander;
+import net.draycia.carbon.bukkit.messaging.BukkitMessagingTransport;
 import net.draycia.carbon.common.CarbonCommonModule;
 import net.draycia.carbon.common.ForCarbon;
+import net.draycia.carbon.common.MainThreadExecutor;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.argument.PlayerSuggestions;
+import net.draycia.carbon.common.messaging.MessagingTransport;
 import net.draycia.carbon.common.util.CloudUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -105,6 +110,9 @@ public final class CarbonChatBukkitModule extends AbstractModule {
         this.bind(Path.class).annotatedWith(ForCarbon.class).toInstance(this.dataDirectory);
         this.bind(CarbonServer.class).to(CarbonServerBukkit.class);
         this.bind(PlayerSuggestions.class).toInstance(new PlayerArgument.PlayerParser<Commander>()::suggestions);
+        OptionalBinder.newOptionalBinder(this.binder(), MessagingTransport.class).setBinding().to(BukkitMessagingTransport.class);
+        OptionalBinder.newOptionalBinder(this.binder(), MainThreadExecutor.class)
+            .setBinding().toInstance(task -> Bukkit.getScheduler().runTask(this.carbonChat, task));
     }
 
 }
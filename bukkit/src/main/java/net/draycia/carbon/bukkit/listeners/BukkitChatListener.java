@@ -22,19 +22,21 @@ package net.draycia.carbon.bukkit.listeners;
 import com.google.inject.Inject;
 import io.papermc.paper.event.player.AsyncChatEvent;
 import java.util.ArrayList;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.UUID;
 import net.draycia.carbon.api.CarbonChat;
-import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
-import net.draycia.carbon.api.users.ComponentPlayerResult;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.bukkit.CarbonChatBukkit;
-import net.kyori.adventure.audience.MessageType;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.util.LinkUtils;
+import net.draycia.carbon.common.util.PlayerUtils;
+import net.draycia.carbon.common.util.RendererChain;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.TextReplacementConfig;
-import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -44,8 +46,6 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import static java.util.Objects.requireNonNullElse;
-import static net.draycia.carbon.api.util.KeyedRenderer.keyedRenderer;
-import static net.kyori.adventure.key.Key.key;
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.text;
 
@@ -53,12 +53,10 @@ import static net.kyori.adventure.text.Component.text;
 public final class BukkitChatListener implements Listener {
 
     private final CarbonChatBukkit carbonChat;
-    private final ChannelRegistry registry;
-
-    private static final Pattern DEFAULT_URL_PATTERN = Pattern.compile("(?:(https?)://)?([-\\w_.]+\\.\\w{2,})(/\\S*)?");
+    private final CarbonChannelRegistry registry;
 
     @Inject
-    public BukkitChatListener(final CarbonChat carbonChat, final ChannelRegistry registry) {
+    public BukkitChatListener(final CarbonChat carbonChat, final CarbonChannelRegistry registry) {
         this.carbonChat = (CarbonChatBukkit) carbonChat;
         this.registry = registry;
     }
@@ -81,32 +79,25 @@ public final class BukkitChatListener implements Listener {
         var eventMessage = event.message();
 
         if (sender.hasPermission("carbon.chatlinks")) {
-            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                    .match(DEFAULT_URL_PATTERN)
-                    .replacement(builder -> builder.clickEvent(ClickEvent.clickEvent(ClickEvent.Action.OPEN_URL, builder.content())))
-                .build());
+            eventMessage = LinkUtils.linkify(eventMessage);
         }
 
-        for (final var chatChannel : this.registry) {
-            if (chatChannel.quickPrefix() == null) {
-                continue;
-            }
+        final @Nullable ChatChannel prefixedChannel = this.registry.channelByPrefix(sender, messageContents);
 
-            if (messageContents.startsWith(chatChannel.quickPrefix()) && chatChannel.speechPermitted(sender).permitted()) {
-                channel = chatChannel;
-                eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                    .once()
-                    .matchLiteral(channel.quickPrefix())
-                    .replacement(text())
-                    .build());
-                break;
-            }
+        if (prefixedChannel != null) {
+            channel = prefixedChannel;
+            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
+                .once()
+                .matchLiteral(channel.quickPrefix())
+                .replacement(text())
+                .build());
         }
 
+        // Event listeners may add or remove recipients, so they get a mutable copy
         final var recipients = new ArrayList<>(channel.recipients(sender));
 
-        final var renderers = new ArrayList<KeyedRenderer>();
-        renderers.add(keyedRenderer(key("carbon", "default"), channel));
+        final var renderers = new ArrayList<KeyedRenderer>(4);
+        renderers.add(this.registry.channelRenderer(channel));
 
         final var chatEvent = new CarbonChatEvent(sender, eventMessage, recipients, renderers, channel);
         final var result = this.carbonChat.eventHandler().emit(chatEvent);
@@ -128,23 +119,14 @@ public final class BukkitChatListener implements Listener {
             exception.printStackTrace();
         }
 
+        // Resolve recipients once up front, renderers run per viewer and must not block
+        final Map<UUID, CarbonPlayer> recipientPlayers = PlayerUtils.recipientPlayers(chatEvent.recipients());
+        final RendererChain rendererChain = RendererChain.of(chatEvent.renderers());
+
         if (sender.hasPermission("carbon.hideidentity")) {
             for (final var recipient : chatEvent.recipients()) {
-                var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
-
-                for (final var renderer : chatEvent.renderers()) {
-                    try {
-                        if (recipient instanceof Player player) {
-                            final ComponentPlayerResult<CarbonPlayer> targetPlayer = this.carbonChat.server().player(player).join();
-
-                            renderedMessage = renderer.render(sender, targetPlayer.player(), renderedMessage.component(), chatEvent.message());
-                        } else {
-                            renderedMessage = renderer.render(sender, recipient, renderedMessage.component(), chatEvent.message());
-                        }
-                    } catch (final Exception e) {
-                        e.printStackTrace();
-                    }
-                }
+                final Audience target = renderTarget(recipientPlayers, recipient);
+                final var renderedMessage = rendererChain.render(sender, target, chatEvent.message(), chatEvent.message());
 
                 recipient.sendMessage(Identity.nil(), renderedMessage.component(), renderedMessage.messageType());
             }
@@ -156,24 +138,19 @@ public final class BukkitChatListener implements Listener {
             }
 
             event.renderer((source, sourceDisplayName, message, viewer) -> {
-                var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
-
-                for (final var renderer : chatEvent.renderers()) {
-                    try {
-                        if (viewer instanceof Player player) {
-                            final ComponentPlayerResult<CarbonPlayer> targetPlayer = this.carbonChat.server().player(player).join();
-                            renderedMessage = renderer.render(sender, targetPlayer.player(), renderedMessage.component(), message);
-                        } else {
-                            renderedMessage = renderer.render(sender, viewer, renderedMessage.component(), message);
-                        }
-                    } catch (final Exception e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                return renderedMessage.component();
+                final Audience target = renderTarget(recipientPlayers, viewer);
+
+                return rendererChain.renderComponent(sender, target, chatEvent.message(), message);
             });
         }
     }
 
+    private static Audience renderTarget(final Map<UUID, CarbonPlayer> recipientPlayers, final Audience viewer) {
+        if (viewer instanceof Player player) {
+            return requireNonNullElse(recipientPlayers.get(player.getUniqueId()), viewer);
+        }
+
+        return viewer;
+    }
+
 }
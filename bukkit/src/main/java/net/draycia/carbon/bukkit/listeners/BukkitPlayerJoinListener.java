@@ -23,11 +23,13 @@ import com.google.inject.Inject;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.bukkit.users.CarbonPlayerBukkit;
+import net.draycia.carbon.common.channels.ChatHistory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
 import net.draycia.carbon.common.util.PlayerUtils;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -37,14 +39,30 @@ public class BukkitPlayerJoinListener implements Listener {
 
     private final CarbonChat carbonChat;
     private final UserManager<CarbonPlayerCommon> userManager;
+    private final ChatHistory chatHistory;
 
     @Inject
     public BukkitPlayerJoinListener(
         final CarbonChat carbonChat,
-        final UserManager<CarbonPlayerCommon> userManager
+        final UserManager<CarbonPlayerCommon> userManager,
+        final ChatHistory chatHistory
     ) {
         this.carbonChat = carbonChat;
         this.userManager = userManager;
+        this.chatHistory = chatHistory;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final PlayerJoinEvent event) {
+        if (!this.chatHistory.settings().enabled() || !this.chatHistory.settings().replayOnJoin()) {
+            return;
+        }
+
+        this.carbonChat.server().player(event.getPlayer().getUniqueId()).thenAccept(result -> {
+            if (result.player() != null) {
+                this.chatHistory.replaySelected(result.player());
+            }
+        });
     }
 
     @EventHandler(priority = EventPriority.MONITOR)
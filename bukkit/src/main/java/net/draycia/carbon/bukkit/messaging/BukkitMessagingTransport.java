@@ -0,0 +1,123 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.bukkit.messaging;
+
+import com.google.common.collect.Iterables;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import net.draycia.carbon.bukkit.CarbonChatBukkit;
+import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.messaging.MessagingTransport;
+import org.apache.logging.log4j.Logger;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.messaging.PluginMessageListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Exchanges payloads with the proxy over plugin messaging.<br>
+ * Plugin messages travel over a player's connection, so nothing can be sent while the server is empty.<br>
+ * Without a proxy players could send these messages themselves, so the channel is only
+ * registered when messaging is enabled in the config.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class BukkitMessagingTransport implements MessagingTransport, PluginMessageListener {
+
+    private final CarbonChatBukkit plugin;
+    private final Logger logger;
+    private final boolean enabled;
+    private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Inject
+    public BukkitMessagingTransport(
+        final CarbonChatBukkit plugin,
+        final ConfigFactory configFactory,
+        final Logger logger
+    ) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.enabled = configFactory.primaryConfig().messaging().enabled();
+
+        if (this.enabled) {
+            plugin.getServer().getMessenger().registerOutgoingPluginChannel(plugin, CHANNEL);
+            plugin.getServer().getMessenger().registerIncomingPluginChannel(plugin, CHANNEL, this);
+        }
+    }
+
+    @Override
+    public boolean available() {
+        // Sending while nobody is online drops the payload, send() keeps count of those
+        return this.enabled;
+    }
+
+    @Override
+    public void send(final byte[] payload) {
+        if (!this.enabled) {
+            return;
+        }
+
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            this.logger.error("Dropped a payload of {} bytes, plugin messages can be at most {} bytes", payload.length, MAX_PAYLOAD_BYTES);
+            return;
+        }
+
+        final @Nullable Player player = Iterables.getFirst(this.plugin.getServer().getOnlinePlayers(), null);
+
+        if (player == null) {
+            if (this.dropped.getAndIncrement() == 0) {
+                this.logger.warn("No players are online to carry plugin messages, payloads are dropped until one joins");
+            }
+
+            return;
+        }
+
+        player.sendPluginMessage(this.plugin, CHANNEL, payload);
+
+        final long dropped = this.dropped.getAndSet(0);
+
+        if (dropped > 0) {
+            this.logger.warn("Dropped {} payloads while no players were online", dropped);
+        }
+    }
+
+    @Override
+    public void receiver(final Consumer<byte[]> receiver) {
+        this.receivers.add(receiver);
+    }
+
+    @Override
+    public void onPluginMessageReceived(final String channel, final Player player, final byte[] message) {
+        if (!this.enabled || !channel.equals(CHANNEL)) {
+            return;
+        }
+
+        for (final Consumer<byte[]> receiver : this.receivers) {
+            receiver.accept(message);
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.api.util.SourcedAudience;
 import net.draycia.carbon.bukkit.CarbonChatBukkit;
 import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.messages.StaticMessageCache;
 import net.draycia.carbon.common.util.ChatType;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.MessageType;
@@ -52,11 +53,13 @@ public class BukkitMessageRenderer<T extends Audience> implements IMessageRender
 
     private final MiniMessage miniMessage;
     private final ConfigFactory configFactory;
+    private final StaticMessageCache staticMessages;
 
     @Inject
-    public BukkitMessageRenderer(final ConfigFactory configFactory) {
+    public BukkitMessageRenderer(final ConfigFactory configFactory, final StaticMessageCache staticMessages) {
         this.miniMessage = MiniMessage.miniMessage();
         this.configFactory = configFactory;
+        this.staticMessages = staticMessages;
 
         if (((CarbonChatBukkit) CarbonChatProvider.carbonChat()).papiLoaded()) {
             this.parser = PlaceholderAPIMiniMessageParser.create(MiniMessage.miniMessage());
@@ -70,6 +73,21 @@ public class BukkitMessageRenderer<T extends Audience> implements IMessageRender
         final Map<String, ? extends Component> resolvedPlaceholders,
         final Method method,
         final Type owner
+    ) {
+        // PlaceholderAPI placeholders depend on the sender, those messages can't be shared
+        if (resolvedPlaceholders.isEmpty() && !(receiver instanceof SourcedAudience && this.parser != null)) {
+            return this.staticMessages.render(method, intermediateMessage,
+                () -> this.renderMessage(receiver, intermediateMessage, resolvedPlaceholders, method));
+        }
+
+        return this.renderMessage(receiver, intermediateMessage, resolvedPlaceholders, method);
+    }
+
+    private RenderedMessage renderMessage(
+        final T receiver,
+        final String intermediateMessage,
+        final Map<String, ? extends Component> resolvedPlaceholders,
+        final Method method
     ) {
         final List<TagResolver> placeholders = new ArrayList<>();
 
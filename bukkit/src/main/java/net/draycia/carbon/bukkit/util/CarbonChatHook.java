@@ -38,7 +38,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public class CarbonChatHook implements ChatHook {
 
     public CarbonChatHook() {
-        CarbonChatProvider.carbonChat().eventHandler().subscribe(CarbonChatEvent.class, event -> {
+        // DiscordSRV can be slow, observe the finished event off the chat thread
+        CarbonChatProvider.carbonChat().eventHandler().observe(CarbonChatEvent.class, event -> {
             final ChatChannel chatChannel = event.chatChannel();
             final CarbonPlayer carbonPlayer = event.sender();
 
@@ -23,6 +23,7 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Injector;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import com.google.inject.multibindings.OptionalBinder;
 import io.leangen.geantyref.TypeToken;
 import java.util.Objects;
 import java.util.UUID;
@@ -41,6 +42,8 @@ import net.draycia.carbon.common.messages.placeholders.ComponentPlaceholderResol
 import net.draycia.carbon.common.messages.placeholders.KeyPlaceholderResolver;
 import net.draycia.carbon.common.messages.placeholders.StringPlaceholderResolver;
 import net.draycia.carbon.common.messages.placeholders.UUIDPlaceholderResolver;
+import net.draycia.carbon.common.messaging.LoopbackMessagingTransport;
+import net.draycia.carbon.common.messaging.MessagingTransport;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
 import net.draycia.carbon.common.users.JSONUserManager;
 import net.kyori.adventure.audience.Audience;
@@ -96,6 +99,12 @@ public final class CarbonCommonModule extends AbstractModule {
     @Override
     protected void configure() {
         this.bind(ChannelRegistry.class).to(CarbonChannelRegistry.class);
+        // Platforms with a network transport override this, an unconnected loopback relays nothing
+        OptionalBinder.newOptionalBinder(this.binder(), MessagingTransport.class)
+            .setDefault().to(LoopbackMessagingTransport.class).in(Singleton.class);
+        // Platforms with a main thread override this
+        OptionalBinder.newOptionalBinder(this.binder(), MainThreadExecutor.class)
+            .setDefault().toInstance(Runnable::run);
     }
 
 }
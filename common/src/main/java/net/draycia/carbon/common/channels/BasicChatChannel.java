@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.RenderedMessage;
@@ -109,16 +110,18 @@ public final class BasicChatChannel implements ChatChannel {
 
     @Override
     public List<Audience> recipients(final CarbonPlayer sender) {
-        final List<Audience> recipients = new ArrayList<>();
+        final CarbonServer server = this.carbonChat.server();
+        final List<? extends CarbonPlayer> players = server.players();
+        final List<Audience> recipients = new ArrayList<>(players.size() + 1);
 
-        for (final CarbonPlayer player : this.carbonChat.server().players()) {
+        for (final CarbonPlayer player : players) {
             if (this.hearingPermitted(player).permitted()) {
                 recipients.add(player);
             }
         }
 
         // console too!
-        recipients.add(this.carbonChat.server().console());
+        recipients.add(server.console());
 
         return recipients;
     }
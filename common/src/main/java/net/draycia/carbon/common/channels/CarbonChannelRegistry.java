@@ -23,8 +23,7 @@ import cloud.commandframework.CommandManager;
 import cloud.commandframework.arguments.standard.StringArgument;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
-import com.google.common.collect.Iterators;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableBiMap;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Singleton;
@@ -34,11 +33,15 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.channels.ChannelRegistry;
@@ -46,14 +49,14 @@ import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.ForCarbon;
+import net.draycia.carbon.common.MainThreadExecutor;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.config.ConfigFactory;
 import net.draycia.carbon.common.events.CarbonReloadEvent;
 import net.draycia.carbon.common.messages.CarbonMessageService;
-import net.kyori.adventure.audience.MessageType;
+import net.draycia.carbon.common.util.RendererChain;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.permission.PermissionChecker;
@@ -76,6 +79,8 @@ import static net.kyori.adventure.text.Component.empty;
 @DefaultQualifier(NonNull.class)
 public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry<Key, ChatChannel> {
 
+    private static final Key DEFAULT_RENDERER_KEY = Key.key("carbon", "default");
+
     private static @MonotonicNonNull ObjectMapper<ConfigChatChannel> MAPPER;
 
     static {
@@ -95,8 +100,13 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
     private @MonotonicNonNull ChatChannel basicChannel;
     private final CarbonMessageService messageService;
     private final CarbonChat carbonChat;
+    private final ChatHistory chatHistory;
+    private final ChannelFileWatcher channelWatcher;
+    private final MainThreadExecutor mainThreadExecutor;
 
-    private final BiMap<Key, ChatChannel> channelMap = Maps.synchronizedBiMap(HashBiMap.create());
+    // Reads use the current snapshot without locking, writes build and publish a new one
+    private final Object writeLock = new Object();
+    private volatile RegistrySnapshot snapshot = RegistrySnapshot.EMPTY;
 
     @Inject
     public CarbonChannelRegistry(
@@ -107,7 +117,10 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         final ConfigFactory configFactory,
         final CarbonMessageService messageService,
         final BasicChatChannel basicChannel,
-        final CarbonChat carbonChat
+        final CarbonChat carbonChat,
+        final ChatHistory chatHistory,
+        final ChannelFileWatcher channelWatcher,
+        final MainThreadExecutor mainThreadExecutor
     ) {
         this.configLoader = configLoader;
         this.configChannelDir = dataDirectory.resolve("channels");
@@ -117,82 +130,153 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         this.messageService = messageService;
         this.basicChannel = basicChannel;
         this.carbonChat = carbonChat;
+        this.chatHistory = chatHistory;
+        this.channelWatcher = channelWatcher;
+        this.mainThreadExecutor = mainThreadExecutor;
 
         carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> {
             this.reloadRegisteredConfigChannels();
+            this.updateWatcher();
         });
     }
 
     public void reloadRegisteredConfigChannels() {
-        try (final Stream<Path> paths = Files.walk(this.configChannelDir)) {
-            paths.forEach(path -> {
-                final String fileName = path.getFileName().toString();
+        try {
+            // Only channels that are already registered are reloaded, new ones need a restart
+            final RegistrySnapshot snapshot = this.snapshot;
+            final List<ChatChannel> channels = this.loadChannelFiles();
+            channels.removeIf(channel -> !snapshot.channels().containsKey(channel.key()));
+
+            // Channels are only swapped in once they're ready to render
+            this.prepareChannels(channels);
+            this.registerAll(channels);
+        } catch (final IOException exception) {
+            exception.printStackTrace();
+        }
+    }
 
-                if (!fileName.endsWith(".conf")) {
-                    return;
-                }
+    /**
+     * Reloads only the given channel files. Channels that weren't registered before
+     * are registered along with their commands.
+     *
+     * @param files the channel files that changed
+     */
+    public void reloadChannelFiles(final Set<Path> files) {
+        final List<ChatChannel> channels = new ArrayList<>(files.size());
+
+        for (final Path file : files) {
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
 
-                final @Nullable ChatChannel chatChannel = this.registerChannelFromPath(path);
+            final @Nullable ChatChannel channel = this.loadChannel(file);
 
-                if (chatChannel == null) {
-                    return;
-                }
+            if (channel == null) {
+                this.logger.warn("Failed to load channel from file [" + file.getFileName() + "]");
+                continue;
+            }
 
-                final @Nullable ChatChannel existingChannel = this.get(chatChannel.key());
+            channels.add(channel);
+        }
 
-                if (existingChannel == null) {
-                    return;
+        if (channels.isEmpty()) {
+            return;
+        }
+
+        this.prepareChannels(channels);
+        final RegistrySnapshot previous = this.registerAll(channels);
+        final List<String> reloaded = new ArrayList<>(channels.size());
+        final List<ChatChannel> added = new ArrayList<>();
+
+        for (final ChatChannel channel : channels) {
+            reloaded.add(channel.key().asString());
+
+            if (!previous.channels().containsKey(channel.key()) && channel.shouldRegisterCommands()) {
+                added.add(channel);
+            }
+        }
+
+        this.logger.info("Reloaded channels: [" + String.join(", ", reloaded) + "]");
+
+        if (!added.isEmpty()) {
+            this.registerAddedChannelCommands(added);
+        }
+    }
+
+    private void registerAddedChannelCommands(final List<ChatChannel> channels) {
+        final CommandManager<Commander> commandManager = this.commandManager();
+
+        if (!commandManager.isCommandRegistrationAllowed()) {
+            final List<String> keys = new ArrayList<>(channels.size());
+
+            for (final ChatChannel channel : channels) {
+                keys.add(channel.key().asString());
+            }
+
+            this.logger.warn("Commands can't be registered while the server is running, restart to use the commands of channels ["
+                + String.join(", ", keys) + "]");
+            return;
+        }
+
+        // The platform's command map isn't safe to change from the watcher thread
+        this.mainThreadExecutor.execute(() -> {
+            for (final ChatChannel channel : channels) {
+                try {
+                    this.registerChannelCommands(channel, commandManager);
+                } catch (final RuntimeException exception) {
+                    this.logger.error("Failed to register commands for channel [" + channel.key().asString() + "]", exception);
                 }
+            }
+        });
+    }
 
-                this.register(chatChannel.key(), chatChannel);
-            });
-        } catch (final IOException exception) {
-            exception.printStackTrace();
+    private void updateWatcher() {
+        if (this.configFactory.primaryConfig().channelWatcher().enabled()) {
+            this.channelWatcher.start(this.configChannelDir, this::reloadChannelFiles);
+        } else {
+            this.channelWatcher.stop();
         }
     }
 
+    private CommandManager<Commander> commandManager() {
+        return this.injector.getInstance(com.google.inject.Key.get(new TypeLiteral<CommandManager<Commander>>() {}));
+    }
+
     public void loadConfigChannels() {
         this.defaultKey = this.configFactory.primaryConfig().defaultChannel();
 
         if (!Files.exists(this.configChannelDir)) {
             // no channels to register, register default channel
             this.registerDefaultChannel();
+            this.updateWatcher();
             return;
         } else if (this.isPathEmpty(this.configChannelDir)) {
             this.register(this.basicChannel.key(), this.basicChannel);
         }
 
         // otherwise, register all channels found
-        try (final Stream<Path> paths = Files.walk(this.configChannelDir)) {
-            final CommandManager<Commander> commandManager =
-                this.injector.getInstance(com.google.inject.Key.get(new TypeLiteral<CommandManager<Commander>>() {}));
-
-            paths.forEach(path -> {
-                final String fileName = path.getFileName().toString();
-
-                if (!fileName.endsWith(".conf")) {
-                    return;
-                }
+        try {
+            final CommandManager<Commander> commandManager = this.commandManager();
+            final List<ChatChannel> loadedChannels = this.loadChannelFiles();
 
-                final @Nullable ChatChannel chatChannel = this.registerChannelFromPath(path);
-
-                if (chatChannel == null) {
-                    this.logger.warn("Failed to load channel from file [" + fileName + "]");
-                    return;
-                }
+            this.prepareChannels(loadedChannels);
+            this.registerAll(loadedChannels);
 
+            for (final ChatChannel chatChannel : loadedChannels) {
                 if (chatChannel.shouldRegisterCommands()) {
                     this.registerChannelCommands(chatChannel, commandManager);
                 }
-            });
+            }
+
+            final RegistrySnapshot snapshot = this.snapshot;
 
-            if (!this.channelMap.containsKey(this.defaultKey)) {
+            if (!snapshot.channels().containsKey(this.defaultKey)) {
                 this.logger.warn("No default channel found! Default channel key: [" + this.defaultKey().asString() + "]");
             }
 
             final List<String> channelList = new ArrayList<>();
 
-            for (final ChatChannel chatChannel : this.channelMap.values()) {
+            for (final ChatChannel chatChannel : snapshot.channels().values()) {
                 channelList.add(chatChannel.key().asString());
             }
 
@@ -202,6 +286,8 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         } catch (final IOException exception) {
             exception.printStackTrace();
         }
+
+        this.updateWatcher();
     }
 
     public @Nullable ChatChannel loadChannel(final Path channelFile) {
@@ -257,22 +343,65 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         }
     }
 
-    private @Nullable ChatChannel registerChannelFromPath(final Path channelPath) {
-        final @Nullable ChatChannel channel = this.loadChannel(channelPath);
+    private List<ChatChannel> loadChannelFiles() throws IOException {
+        final List<ChatChannel> channels = new ArrayList<>();
 
-        if (channel == null) {
-            return null;
-        }
+        try (final Stream<Path> paths = Files.walk(this.configChannelDir)) {
+            paths.forEach(path -> {
+                final String fileName = path.getFileName().toString();
+
+                if (!fileName.endsWith(".conf")) {
+                    return;
+                }
+
+                final @Nullable ChatChannel channel = this.loadChannel(path);
+
+                if (channel == null) {
+                    this.logger.warn("Failed to load channel from file [" + fileName + "]");
+                    return;
+                }
 
-        final Key channelKey = channel.key();
+                if (this.defaultKey.equals(channel.key())) {
+                    this.logger.info("Default channel is [" + channel.key() + "]");
+                }
 
-        if (this.defaultKey.equals(channelKey)) {
-            this.logger.info("Default channel is [" + channelKey + "]");
+                channels.add(channel);
+            });
         }
 
-        this.register(channelKey, channel);
+        return channels;
+    }
+
+    /**
+     * Builds the message services of the channels in parallel, so the first message
+     * in a channel doesn't have to wait for them.
+     *
+     * @param channels the channels to prepare
+     */
+    private void prepareChannels(final List<ChatChannel> channels) {
+        final List<CompletableFuture<?>> preparing = new ArrayList<>(channels.size());
+
+        for (final ChatChannel channel : channels) {
+            if (!(channel instanceof ConfigChatChannel configChannel)) {
+                continue;
+            }
+
+            preparing.add(CompletableFuture.runAsync(() -> {
+                final long start = System.nanoTime();
 
-        return channel;
+                try {
+                    configChannel.prepareMessageService();
+                } catch (final Exception exception) {
+                    this.logger.error("Failed to prepare channel [" + channel.key().asString() + "]", exception);
+                    return;
+                }
+
+                this.logger.info("Prepared channel [{}] in {}ms", channel.key().asString(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }));
+        }
+
+        CompletableFuture.allOf(preparing.toArray(CompletableFuture[]::new)).join();
     }
 
     private void registerChannelCommands(final ChatChannel channel, final CommandManager<Commander> commandManager) {
@@ -294,6 +423,8 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         final var command = builder.senderType(PlayerCommander.class)
             .handler(handler -> {
                 final var sender = ((PlayerCommander) handler.getSender()).carbonPlayer();
+                // Use the channel as currently registered, it may have been reloaded since
+                final ChatChannel current = Objects.requireNonNullElse(this.get(channel.key()), channel);
 
                 if (sender.muted()) {
                     this.messageService.muteCannotSpeak(sender);
@@ -304,10 +435,14 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
                     final String message = handler.get("message");
 
                     // TODO: trigger platform events related to chat
-                    this.sendMessageInChannelAsPlayer(sender, channel, message);
+                    this.sendMessageInChannelAsPlayer(sender, current, message);
                 } else {
-                    sender.selectedChannel(channel);
-                    this.messageService.changedChannels(sender, channel.key().value());
+                    sender.selectedChannel(current);
+                    this.messageService.changedChannels(sender, current.key().value());
+
+                    if (this.chatHistory.settings().replayOnChannelSwitch()) {
+                        this.chatHistory.replay(sender, current);
+                    }
                 }
             })
             .build();
@@ -332,21 +467,16 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
             return;
         }
 
-        for (final var chatChannel : this) {
-            if (chatChannel.quickPrefix() == null) {
-                continue;
-            }
+        final @Nullable ChatChannel prefixedChannel = this.channelByPrefix(sender, plainMessage);
 
-            if (plainMessage.startsWith(chatChannel.quickPrefix()) && chatChannel.speechPermitted(sender).permitted()) {
-                channel = chatChannel;
-                break;
-            }
+        if (prefixedChannel != null) {
+            channel = prefixedChannel;
         }
 
-        final var recipients = channel.recipients(sender);
+        final var recipients = new ArrayList<>(channel.recipients(sender));
 
-        final var renderers = new ArrayList<KeyedRenderer>();
-        renderers.add(keyedRenderer(Key.key("carbon", "default"), channel));
+        final var renderers = new ArrayList<KeyedRenderer>(4);
+        renderers.add(this.channelRenderer(channel));
 
         final var chatEvent = new CarbonChatEvent(sender, Component.text(plainMessage), recipients, renderers, channel);
         final var result = this.carbonChat.eventHandler().emit(chatEvent);
@@ -361,14 +491,11 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
             return;
         }
 
-        for (final var recipient : chatEvent.recipients()) {
-            var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
-
-            for (final var renderer : chatEvent.renderers()) {
-                renderedMessage = renderer.render(sender, recipient, renderedMessage.component(), chatEvent.message());
-            }
+        final RendererChain rendererChain = RendererChain.of(chatEvent.renderers());
+        final Identity identity = sender.hasPermission("carbon.hideidentity") ? Identity.nil() : sender.identity();
 
-            final Identity identity = sender.hasPermission("carbon.hideidentity") ? Identity.nil() : sender.identity();
+        for (final var recipient : chatEvent.recipients()) {
+            final var renderedMessage = rendererChain.render(sender, recipient, chatEvent.message(), chatEvent.message());
 
             if (!(recipient instanceof CarbonPlayer)) {
                 recipient.sendMessage(identity, renderedMessage.component());
@@ -378,6 +505,35 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
         }
     }
 
+    /**
+     * Finds the channel a message should be sent in based on its quick prefix.
+     *
+     * @param sender  the player sending the message
+     * @param message the plain message
+     * @return the channel whose quick prefix the message starts with and the sender
+     *     may speak in, or null if there is none
+     */
+    public @Nullable ChatChannel channelByPrefix(final CarbonPlayer sender, final String message) {
+        return this.snapshot.quickPrefixes().find(sender, message);
+    }
+
+    /**
+     * Gets the renderer that formats messages with the channel's own format.<br>
+     * Renderers of registered channels are created once and shared between messages.
+     *
+     * @param channel the channel
+     * @return the channel's renderer
+     */
+    public KeyedRenderer channelRenderer(final ChatChannel channel) {
+        final @Nullable KeyedRenderer renderer = this.snapshot.renderers().get(channel);
+
+        if (renderer != null) {
+            return renderer;
+        }
+
+        return keyedRenderer(DEFAULT_RENDERER_KEY, channel);
+    }
+
     private boolean isPathEmpty(final Path path) {
         try (DirectoryStream<Path> directory = Files.newDirectoryStream(path)) {
             return !directory.iterator().hasNext();
@@ -390,28 +546,75 @@ public class CarbonChannelRegistry implements ChannelRegistry, DefaultedRegistry
 
     @Override
     public @NonNull ChatChannel register(final @NonNull Key key, final @NonNull ChatChannel value) {
-        this.channelMap.put(key, value);
+        this.update(channels -> channels.put(key, value));
+
         return value;
     }
 
+    private RegistrySnapshot registerAll(final List<ChatChannel> channels) {
+        return this.update(map -> {
+            for (final ChatChannel channel : channels) {
+                map.put(channel.key(), channel);
+            }
+        });
+    }
+
+    private RegistrySnapshot update(final Consumer<BiMap<Key, ChatChannel>> change) {
+        synchronized (this.writeLock) {
+            final RegistrySnapshot previous = this.snapshot;
+            final BiMap<Key, ChatChannel> channels = HashBiMap.create(previous.channels());
+            change.accept(channels);
+            this.snapshot = RegistrySnapshot.of(channels);
+            return previous;
+        }
+    }
+
     @Override
     public @Nullable ChatChannel get(final @NonNull Key key) {
-        return this.channelMap.get(key);
+        return this.snapshot.channels().get(key);
     }
 
     @Override
     public @Nullable Key key(final @NonNull ChatChannel value) {
-        return this.channelMap.inverse().get(value);
+        return this.snapshot.channels().inverse().get(value);
     }
 
     @Override
     public @NonNull Set<Key> keySet() {
-        return Collections.unmodifiableSet(this.channelMap.keySet());
+        return this.snapshot.channels().keySet();
     }
 
     @Override
     public @NonNull Iterator<ChatChannel> iterator() {
-        return Iterators.unmodifiableIterator(this.channelMap.values().iterator());
+        return this.snapshot.channels().values().iterator();
+    }
+
+    /**
+     * An immutable state of the registry, with the lookups derived from its channels.
+     *
+     * @param channels      the channels by key
+     * @param quickPrefixes the channels by quick prefix
+     * @param renderers     the renderers of the channels
+     */
+    private record RegistrySnapshot(
+        ImmutableBiMap<Key, ChatChannel> channels,
+        QuickPrefixTrie quickPrefixes,
+        Map<ChatChannel, KeyedRenderer> renderers
+    ) {
+
+        static final RegistrySnapshot EMPTY = new RegistrySnapshot(ImmutableBiMap.of(), QuickPrefixTrie.EMPTY, Map.of());
+
+        static RegistrySnapshot of(final BiMap<Key, ChatChannel> channels) {
+            final Map<ChatChannel, KeyedRenderer> renderers = new HashMap<>();
+
+            for (final ChatChannel channel : channels.values()) {
+                renderers.put(channel, keyedRenderer(DEFAULT_RENDERER_KEY, channel));
+            }
+
+            return new RegistrySnapshot(ImmutableBiMap.copyOf(channels), QuickPrefixTrie.of(channels.values()),
+                Map.copyOf(renderers));
+        }
+
     }
 
 }
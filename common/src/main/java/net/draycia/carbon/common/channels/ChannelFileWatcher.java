@@ -0,0 +1,184 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import net.draycia.carbon.common.config.ConfigFactory;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the channel directory and hands the channel files that changed to a reloader.<br>
+ * Changes are collected until no further change happened for the configured debounce
+ * time, so saving a file in several writes only reloads it once.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChannelFileWatcher {
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat("CarbonChat-ChannelWatcher")
+        .setDaemon(true)
+        .build();
+
+    private final ConfigFactory configFactory;
+    private final Logger logger;
+    private @Nullable WatchService watchService;
+
+    @Inject
+    public ChannelFileWatcher(final ConfigFactory configFactory, final Logger logger) {
+        this.configFactory = configFactory;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts watching the directory, unless it's already being watched.
+     *
+     * @param directory the channel directory
+     * @param reloader  called from the watcher thread with the channel files that changed
+     */
+    public synchronized void start(final Path directory, final Consumer<Set<Path>> reloader) {
+        if (this.watchService != null) {
+            return;
+        }
+
+        final WatchService watchService;
+
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            this.watchTree(watchService, directory);
+        } catch (final IOException exception) {
+            this.logger.error("Failed to watch channel directory [" + directory + "]", exception);
+            return;
+        }
+
+        this.watchService = watchService;
+        THREAD_FACTORY.newThread(() -> this.watch(watchService, directory, reloader)).start();
+        this.logger.info("Watching channel directory for changes");
+    }
+
+    public synchronized void stop() {
+        if (this.watchService == null) {
+            return;
+        }
+
+        try {
+            // Closing wakes the watcher thread, which then exits
+            this.watchService.close();
+        } catch (final IOException exception) {
+            this.logger.error("Failed to stop watching channel directory", exception);
+        }
+
+        this.watchService = null;
+    }
+
+    private void watch(final WatchService watchService, final Path directory, final Consumer<Set<Path>> reloader) {
+        final Set<Path> changed = new HashSet<>();
+        long deadline = 0;
+
+        try {
+            while (true) {
+                final @Nullable WatchKey key = changed.isEmpty()
+                    ? watchService.take()
+                    : watchService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+
+                if (key == null) {
+                    // Quiet for the whole debounce time, reload what changed so far
+                    try {
+                        reloader.accept(Set.copyOf(changed));
+                    } catch (final RuntimeException exception) {
+                        this.logger.error("Failed to reload channel files", exception);
+                    }
+
+                    changed.clear();
+                    continue;
+                }
+
+                final Path keyDirectory = (Path) key.watchable();
+
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        this.collectChannelFiles(directory, changed);
+                        continue;
+                    }
+
+                    final Path path = keyDirectory.resolve((Path) event.context());
+
+                    if (Files.isDirectory(path)) {
+                        if (event.kind() == ENTRY_CREATE) {
+                            this.watchTree(watchService, path);
+                            this.collectChannelFiles(path, changed);
+                        }
+                    } else if (path.getFileName().toString().endsWith(".conf")) {
+                        changed.add(path);
+                    }
+                }
+
+                key.reset();
+                deadline = System.nanoTime()
+                    + TimeUnit.MILLISECONDS.toNanos(this.configFactory.primaryConfig().channelWatcher().debounceMillis());
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException exception) {
+            // Stopped
+        }
+    }
+
+    private void watchTree(final WatchService watchService, final Path directory) {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+                }
+            }
+        } catch (final IOException exception) {
+            this.logger.error("Failed to watch channel directory [" + directory + "]", exception);
+        }
+    }
+
+    private void collectChannelFiles(final Path directory, final Set<Path> changed) {
+        try (final Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(".conf")).forEach(changed::add);
+        } catch (final IOException exception) {
+            this.logger.error("Failed to list channel files in [" + directory + "]", exception);
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Fixed size ring buffer of a channel's recent messages.<br>
+ * Everything is kept in arrays allocated up front, so the memory used doesn't
+ * depend on how many messages pass through and recording keeps no objects alive.
+ */
+@DefaultQualifier(NonNull.class)
+final class ChannelHistory {
+
+    private final int capacity;
+    private final int maxMessageBytes;
+    private final long[] senderMost;
+    private final long[] senderLeast;
+    private final long[] timestamps;
+    private final int[] lengths;
+    private final boolean[] rendered;
+    private final byte[] messages;
+    private int next = 0;
+    private int size = 0;
+
+    ChannelHistory(final int capacity, final int maxMessageBytes) {
+        this.capacity = capacity;
+        this.maxMessageBytes = maxMessageBytes;
+        this.senderMost = new long[capacity];
+        this.senderLeast = new long[capacity];
+        this.timestamps = new long[capacity];
+        this.lengths = new int[capacity];
+        this.rendered = new boolean[capacity];
+        this.messages = new byte[Math.multiplyExact(capacity, maxMessageBytes)];
+    }
+
+    boolean fits(final int capacity, final int maxMessageBytes) {
+        return this.capacity == capacity && this.maxMessageBytes == maxMessageBytes;
+    }
+
+    /**
+     * Records a message, overwriting the oldest one once full.
+     *
+     * @param sender    the sender of the message
+     * @param timestamp when the message was sent, in epoch millis
+     * @param message   the serialized message, in UTF-8
+     * @param rendered  whether the message is already formatted, rather than
+     *                  the content to be rendered with the channel's format
+     * @return false if the message was too large to be kept
+     */
+    synchronized boolean add(final UUID sender, final long timestamp, final byte[] message, final boolean rendered) {
+        if (message.length > this.maxMessageBytes) {
+            return false;
+        }
+
+        final int slot = this.next;
+
+        this.senderMost[slot] = sender.getMostSignificantBits();
+        this.senderLeast[slot] = sender.getLeastSignificantBits();
+        this.timestamps[slot] = timestamp;
+        this.lengths[slot] = message.length;
+        this.rendered[slot] = rendered;
+        System.arraycopy(message, 0, this.messages, slot * this.maxMessageBytes, message.length);
+
+        this.next = (slot + 1) % this.capacity;
+        this.size = Math.min(this.size + 1, this.capacity);
+
+        return true;
+    }
+
+    /**
+     * Copies out the most recent messages.
+     *
+     * @param limit the maximum amount of messages
+     * @return the messages, oldest first
+     */
+    synchronized List<Entry> recent(final int limit) {
+        final int count = Math.min(limit, this.size);
+        final List<Entry> entries = new ArrayList<>(count);
+
+        for (int i = count; i > 0; i--) {
+            final int slot = Math.floorMod(this.next - i, this.capacity);
+
+            entries.add(new Entry(
+                new UUID(this.senderMost[slot], this.senderLeast[slot]),
+                this.timestamps[slot],
+                new String(this.messages, slot * this.maxMessageBytes, this.lengths[slot], StandardCharsets.UTF_8),
+                this.rendered[slot]
+            ));
+        }
+
+        return entries;
+    }
+
+    record Entry(UUID sender, long timestamp, String message, boolean rendered) {
+
+    }
+
+}
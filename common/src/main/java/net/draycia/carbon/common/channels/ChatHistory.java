@@ -0,0 +1,193 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.api.users.ComponentPlayerResult;
+import net.draycia.carbon.api.util.RenderedMessage;
+import net.draycia.carbon.common.config.ChatHistorySettings;
+import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.events.CarbonReloadEvent;
+import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import static java.util.Objects.requireNonNullElse;
+
+/**
+ * Keeps the recent messages of each channel so they can be shown to players
+ * that join or switch to the channel.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChatHistory {
+
+    private final CarbonChat carbonChat;
+    private final ConfigFactory configFactory;
+    private final Logger logger;
+    private final Map<Key, ChannelHistory> histories = new ConcurrentHashMap<>();
+
+    @Inject
+    public ChatHistory(final CarbonChat carbonChat, final ConfigFactory configFactory, final Logger logger) {
+        this.carbonChat = carbonChat;
+        this.configFactory = configFactory;
+        this.logger = logger;
+
+        carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> {
+            final ChatHistorySettings settings = this.settings();
+
+            if (!settings.enabled()) {
+                this.histories.clear();
+            } else {
+                // Buffers are sized up front, resized ones start over
+                this.histories.values().removeIf(history ->
+                    !history.fits(settings.messagesPerChannel(), settings.maxMessageBytes()));
+            }
+        });
+    }
+
+    public ChatHistorySettings settings() {
+        return this.configFactory.primaryConfig().chatHistory();
+    }
+
+    /**
+     * Records a message sent in a channel. It's rendered with the channel's format
+     * for each player it's replayed to.
+     *
+     * @param channel the channel the message was sent in
+     * @param sender  the player that sent the message
+     * @param message the message content, before the channel's format is applied
+     */
+    public void record(final ChatChannel channel, final UUID sender, final Component message) {
+        this.record(channel, sender, message, false);
+    }
+
+    /**
+     * Records a message that was already formatted elsewhere, such as on another server.
+     * It's replayed as-is.
+     *
+     * @param channel the channel the message was sent in
+     * @param sender  the player that sent the message
+     * @param message the message as it's shown to recipients
+     */
+    public void recordRendered(final ChatChannel channel, final UUID sender, final Component message) {
+        this.record(channel, sender, message, true);
+    }
+
+    private void record(final ChatChannel channel, final UUID sender, final Component message, final boolean rendered) {
+        final ChatHistorySettings settings = this.settings();
+
+        if (!settings.enabled() || settings.messagesPerChannel() <= 0) {
+            return;
+        }
+
+        final byte[] serialized = GsonComponentSerializer.gson().serialize(message).getBytes(StandardCharsets.UTF_8);
+
+        this.histories.computeIfAbsent(channel.key(), key -> new ChannelHistory(settings.messagesPerChannel(), settings.maxMessageBytes()))
+            .add(sender, System.currentTimeMillis(), serialized, rendered);
+    }
+
+    /**
+     * Replays the recent messages of the player's selected channel.
+     *
+     * @param player the player
+     */
+    public void replaySelected(final CarbonPlayer player) {
+        this.replay(player, requireNonNullElse(player.selectedChannel(), this.carbonChat.channelRegistry().defaultValue()));
+    }
+
+    /**
+     * Replays the recent messages of a channel the player is able to see.
+     *
+     * @param player  the player
+     * @param channel the channel
+     */
+    public void replay(final CarbonPlayer player, final ChatChannel channel) {
+        final ChatHistorySettings settings = this.settings();
+
+        if (!settings.enabled() || player.deafened() || !channel.hearingPermitted(player).permitted()) {
+            return;
+        }
+
+        final @Nullable ChannelHistory history = this.histories.get(channel.key());
+
+        if (history == null) {
+            return;
+        }
+
+        final List<ChannelHistory.Entry> entries = new ArrayList<>(history.recent(settings.replayMessages()));
+
+        if (player instanceof WrappedCarbonPlayer wrapped) {
+            entries.removeIf(entry -> wrapped.carbonPlayerCommon().ignoring(entry.sender()));
+        }
+
+        // Each sender is looked up once, their messages are then rendered for this player like live ones
+        final Map<UUID, CompletableFuture<ComponentPlayerResult<CarbonPlayer>>> senders = new HashMap<>();
+
+        for (final ChannelHistory.Entry entry : entries) {
+            if (!entry.rendered()) {
+                senders.computeIfAbsent(entry.sender(), this.carbonChat.server()::player);
+            }
+        }
+
+        CompletableFuture.allOf(senders.values().toArray(CompletableFuture[]::new)).thenRun(() -> {
+            for (final ChannelHistory.Entry entry : entries) {
+                final Identity identity = Identity.identity(entry.sender());
+                final Component message = GsonComponentSerializer.gson().deserialize(entry.message());
+
+                if (entry.rendered()) {
+                    player.sendMessage(identity, message);
+                    continue;
+                }
+
+                final @Nullable CarbonPlayer sender = senders.get(entry.sender()).join().player();
+
+                if (sender == null) {
+                    continue;
+                }
+
+                final RenderedMessage rendered = channel.render(sender, player, message, message);
+                player.sendMessage(identity, rendered.component(), rendered.messageType());
+            }
+        }).exceptionally(throwable -> {
+            this.logger.error("Failed to replay chat history of channel [" + channel.key().asString() + "]", throwable);
+            return null;
+        });
+    }
+
+}
@@ -27,6 +27,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import net.draycia.carbon.api.CarbonChatProvider;
+import net.draycia.carbon.api.CarbonServer;
 import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.RenderedMessage;
@@ -93,7 +94,13 @@ public final class ConfigChatChannel implements ChatChannel {
 
     private @Nullable List<String> commandAliases = Collections.emptyList();
 
-    private transient @Nullable ConfigChannelMessageService messageService = null;
+    @Comment("""
+        Whether messages are relayed to the other servers of the network.
+        Carbon has to be installed on the proxy (Velocity) and the backend servers.
+        """)
+    private @Nullable Boolean networkWide = false;
+
+    private transient volatile @Nullable ConfigChannelMessageService messageService = null;
 
     @Override
     public @Nullable String quickPrefix() {
@@ -120,6 +127,10 @@ public final class ConfigChatChannel implements ChatChannel {
         return Objects.requireNonNullElse(this.commandAliases, Collections.emptyList());
     }
 
+    public boolean networkWide() {
+        return Objects.requireNonNullElse(this.networkWide, false);
+    }
+
     @Override
     public @NotNull RenderedMessage render(
         final CarbonPlayer sender,
@@ -150,16 +161,18 @@ public final class ConfigChatChannel implements ChatChannel {
 
     @Override
     public List<Audience> recipients(final CarbonPlayer sender) {
-        final List<Audience> recipients = new ArrayList<>();
+        final CarbonServer server = CarbonChatProvider.carbonChat().server();
+        final List<? extends CarbonPlayer> players = server.players();
+        final List<Audience> recipients = new ArrayList<>(players.size() + 1);
 
-        for (final CarbonPlayer player : CarbonChatProvider.carbonChat().server().players()) {
+        for (final CarbonPlayer player : players) {
             if (this.hearingPermitted(player).permitted()) {
                 recipients.add(player);
             }
         }
 
         // console too!
-        recipients.add(CarbonChatProvider.carbonChat().server().console());
+        recipients.add(server.console());
 
         return recipients;
     }
@@ -209,12 +222,28 @@ public final class ConfigChatChannel implements ChatChannel {
         return null;
     }
 
+    /**
+     * Builds the channel's message service now, instead of on the first message in the channel.
+     */
+    public void prepareMessageService() {
+        this.messageService();
+    }
+
     private ConfigChannelMessageService messageService() {
-        if (this.messageService == null) {
-            this.messageService = this.createMessageService();
+        @Nullable ConfigChannelMessageService service = this.messageService;
+
+        if (service == null) {
+            synchronized (this) {
+                service = this.messageService;
+
+                if (service == null) {
+                    service = this.createMessageService();
+                    this.messageService = service;
+                }
+            }
         }
 
-        return requireNonNull(this.messageService, "Channel message service must not be null!");
+        return requireNonNull(service, "Channel message service must not be null!");
     }
 
     @Override
@@ -0,0 +1,117 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.channels;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Immutable index of channels by their {@link ChatChannel#quickPrefix() quick prefix}.<br>
+ * Lookups walk the message once, so routing costs O(prefix length) regardless of how many
+ * channels are registered.
+ */
+@DefaultQualifier(NonNull.class)
+final class QuickPrefixTrie {
+
+    static final QuickPrefixTrie EMPTY = new QuickPrefixTrie(new Node());
+
+    private final Node root;
+
+    private QuickPrefixTrie(final Node root) {
+        this.root = root;
+    }
+
+    static QuickPrefixTrie of(final Iterable<ChatChannel> channels) {
+        final Node root = new Node();
+
+        for (final ChatChannel channel : channels) {
+            final @Nullable String prefix = channel.quickPrefix();
+
+            if (prefix == null || prefix.isEmpty()) {
+                continue;
+            }
+
+            Node node = root;
+
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), $ -> new Node());
+            }
+
+            node.channels.add(channel);
+        }
+
+        return new QuickPrefixTrie(root);
+    }
+
+    /**
+     * Finds the channel whose quick prefix the message starts with.<br>
+     * Longer prefixes win over shorter ones, and speech permission is only checked
+     * for channels whose prefix matched.
+     *
+     * @param sender  the player sending the message
+     * @param message the plain message
+     * @return the matching channel, or null if none matched
+     */
+    @Nullable ChatChannel find(final CarbonPlayer sender, final String message) {
+        if (this.root.children.isEmpty() || message.isEmpty()) {
+            return null;
+        }
+
+        final List<Node> matched = new ArrayList<>(1);
+        Node node = this.root;
+
+        for (int i = 0; i < message.length(); i++) {
+            node = node.children.get(message.charAt(i));
+
+            if (node == null) {
+                break;
+            }
+
+            if (!node.channels.isEmpty()) {
+                matched.add(node);
+            }
+        }
+
+        for (int i = matched.size() - 1; i >= 0; i--) {
+            for (final ChatChannel channel : matched.get(i).channels) {
+                if (channel.speechPermitted(sender).permitted()) {
+                    return channel;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<ChatChannel> channels = new ArrayList<>(1);
+
+    }
+
+}
@@ -19,9 +19,14 @@
  */
 package net.draycia.carbon.common.channels.messages;
 
+import com.google.common.collect.MapMaker;
+import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.SourcedAudience;
 import net.kyori.adventure.audience.Audience;
@@ -70,6 +75,30 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
 
     private static final String FALLBACK_FORMAT = "<red><</red><username><red>></red> <message>";
 
+    // Safeguard against senders that are never invalidated
+    private static final int MAX_CACHED_FORMATS = 2048;
+
+    // Live sources, weakly held so sources of reloaded channels go away
+    private static final Set<ConfigChannelMessageSource> SOURCES = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+    // The format resolved for a sender and a recipient locale, groups are only looked up once per pair
+    private final transient Map<FormatKey, String> resolvedFormats = new ConcurrentHashMap<>();
+
+    {
+        SOURCES.add(this);
+    }
+
+    /**
+     * Forgets the formats resolved for a sender, as their groups changed.
+     *
+     * @param sender the sender's uuid
+     */
+    public static void invalidate(final UUID sender) {
+        for (final ConfigChannelMessageSource source : SOURCES) {
+            source.resolvedFormats.keySet().removeIf(key -> key.sender().equals(sender));
+        }
+    }
+
     @Override
     public String messageOf(final SourcedAudience sourcedAudience, final String messageKey) {
         if (sourcedAudience.recipient() instanceof CarbonPlayer) {
@@ -82,9 +111,27 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
     private String forPlayer(final String key, final SourcedAudience sourcedAudience) {
         final var sender = (CarbonPlayer) sourcedAudience.sender();
         final var recipient = (CarbonPlayer) sourcedAudience.recipient();
+        final FormatKey formatKey = new FormatKey(sender.uuid(), recipient.locale());
+        final @Nullable String cached = this.resolvedFormats.get(formatKey);
+
+        if (cached != null) {
+            return cached;
+        }
 
-        if (recipient.locale() != null) {
-            final var formats = this.locales.get(recipient.locale());
+        final String format = this.resolveFormat(sender, formatKey.locale());
+
+        if (this.resolvedFormats.size() >= MAX_CACHED_FORMATS) {
+            this.resolvedFormats.clear();
+        }
+
+        this.resolvedFormats.put(formatKey, format);
+
+        return format;
+    }
+
+    private String resolveFormat(final CarbonPlayer sender, final @Nullable Locale locale) {
+        if (locale != null) {
+            final var formats = this.locales.get(locale);
 
             if (formats != null) {
                 final @Nullable String format = formats.get(sender.primaryGroup());
@@ -124,4 +171,8 @@ public class ConfigChannelMessageSource implements IMessageSource<SourcedAudienc
         return Objects.requireNonNullElse(this.defaults.get("console"), FALLBACK_FORMAT);
     }
 
+    private record FormatKey(UUID sender, @Nullable Locale locale) {
+
+    }
+
 }
@@ -39,6 +39,7 @@ import net.draycia.carbon.api.CarbonChatProvider;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -55,9 +56,10 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
         final @Nullable BiFunction<@NonNull CommandContext<Commander>, @NonNull String,
             @NonNull List<@NonNull String>> suggestionsProvider,
         final @NonNull ArgumentDescription defaultDescription,
-        final @NonNull CarbonMessageService messageService
+        final @NonNull CarbonMessageService messageService,
+        final @Nullable PlayerDirectory playerDirectory
     ) {
-        super(required, name, new CarbonPlayerParser(messageService), defaultValue, CarbonPlayer.class, suggestionsProvider, defaultDescription);
+        super(required, name, new CarbonPlayerParser(messageService, playerDirectory), defaultValue, CarbonPlayer.class, suggestionsProvider, defaultDescription);
     }
 
     /**
@@ -107,6 +109,7 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
     public static final class Builder extends CommandArgument.Builder<Commander, CarbonPlayer> {
 
         private CarbonMessageService messageService;
+        private @Nullable PlayerDirectory playerDirectory;
 
         private Builder(final @NonNull String name) {
             super(CarbonPlayer.class, name);
@@ -123,6 +126,17 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
             return this;
         }
 
+        /**
+         * Set the player directory, to also resolve players online on other servers.
+         *
+         * @param playerDirectory the player directory
+         * @return builder instance
+         */
+        public Builder withPlayerDirectory(final @NonNull PlayerDirectory playerDirectory) {
+            this.playerDirectory = playerDirectory;
+            return this;
+        }
+
         /**
          * Builder a new boolean component.
          *
@@ -136,7 +150,8 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
                 this.getDefaultValue(),
                 this.getSuggestionsProvider(),
                 this.getDefaultDescription(),
-                this.messageService
+                this.messageService,
+                this.playerDirectory
             );
         }
 
@@ -145,9 +160,18 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
     public static final class CarbonPlayerParser implements ArgumentParser<Commander, CarbonPlayer> {
 
         private final @NonNull CarbonMessageService messageService;
+        private final @Nullable PlayerDirectory playerDirectory;
 
         public CarbonPlayerParser(final @NonNull CarbonMessageService messageService) {
+            this(messageService, null);
+        }
+
+        public CarbonPlayerParser(
+            final @NonNull CarbonMessageService messageService,
+            final @Nullable PlayerDirectory playerDirectory
+        ) {
             this.messageService = messageService;
+            this.playerDirectory = playerDirectory;
         }
 
         @Override
@@ -163,7 +187,9 @@ public final class CarbonPlayerArgument extends CommandArgument<Commander, Carbo
                     commandContext
                 ));
             }
-            final var playerResult = CarbonChatProvider.carbonChat().server().player(input).join();
+            final var server = CarbonChatProvider.carbonChat().server();
+            final PlayerDirectory.@Nullable Entry remote = this.playerDirectory == null ? null : this.playerDirectory.remote(input);
+            final var playerResult = remote == null ? server.player(input).join() : server.player(remote.uuid()).join();
 
             if (playerResult.player() == null) {
                 return ArgumentParseResult.failure(new CarbonPlayerParseException(input, commandContext, this.messageService));
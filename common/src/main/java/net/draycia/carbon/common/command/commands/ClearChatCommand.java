@@ -22,14 +22,18 @@ package net.draycia.carbon.common.command.commands;
 import cloud.commandframework.CommandManager;
 import cloud.commandframework.minecraft.extras.MinecraftExtrasMetaKeys;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.common.command.CarbonCommand;
 import net.draycia.carbon.common.command.CommandSettings;
 import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.PlayerCommander;
+import net.draycia.carbon.common.config.ClearChatSettings;
 import net.draycia.carbon.common.config.ConfigFactory;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -75,14 +79,23 @@ public class ClearChatCommand extends CarbonCommand {
             .handler(handler -> {
                 // Not fond of having to send 50 messages to each player
                 // Are we not able to just paste in 50 newlines and call it a day?
-                for (int i = 0; i < this.configFactory.primaryConfig().clearChatSettings().iterations(); i++) {
-                    for (final var player : this.carbonChat.server().players()) {
-                        if (!player.hasPermission("carbon.clearchat.exempt")) {
-                            player.sendMessage(this.configFactory.primaryConfig().clearChatSettings().message());
-                        }
+                final ClearChatSettings settings = this.configFactory.primaryConfig().clearChatSettings();
+                final List<Audience> cleared = new ArrayList<>();
+
+                for (final var player : this.carbonChat.server().players()) {
+                    if (!player.hasPermission("carbon.clearchat.exempt")) {
+                        cleared.add(player);
                     }
                 }
 
+                // The message is the same for everyone, so permissions are only checked once
+                final Audience audience = Audience.audience(cleared);
+                final Component message = settings.message();
+
+                for (int i = 0; i < settings.iterations(); i++) {
+                    audience.sendMessage(message);
+                }
+
                 final Component senderName;
                 final String username;
 
@@ -35,6 +35,7 @@ import net.draycia.carbon.common.command.Commander;
 import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.command.argument.CarbonPlayerArgument;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -49,16 +50,19 @@ public class ReplyCommand extends CarbonCommand {
     final CarbonChat carbonChat;
     final CommandManager<Commander> commandManager;
     final CarbonMessageService messageService;
+    final PlayerDirectory playerDirectory;
 
     @Inject
     public ReplyCommand(
         final CarbonChat carbonChat,
         final CommandManager<Commander> commandManager,
-        final CarbonMessageService messageService
+        final CarbonMessageService messageService,
+        final PlayerDirectory playerDirectory
     ) {
         this.carbonChat = carbonChat;
         this.commandManager = commandManager;
         this.messageService = messageService;
+        this.playerDirectory = playerDirectory;
     }
 
     @Override
@@ -103,7 +107,10 @@ public class ReplyCommand extends CarbonCommand {
                     return;
                 }
 
-                if (!recipient.online() || !sender.awareOf(recipient) && !sender.hasPermission("carbon.whisper.vanished")) {
+                // Online on another server of the network
+                final boolean remote = !recipient.online() && this.playerDirectory.reachable(sender, recipient.uuid());
+
+                if (!remote && (!recipient.online() || !sender.awareOf(recipient) && !sender.hasPermission("carbon.whisper.vanished"))) {
                     final var rawNameInput = CloudUtils.rawInputByMatchingName(handler.getRawInput(), recipient);
                     final var exception = new CarbonPlayerArgument.CarbonPlayerParseException(rawNameInput, handler, this.messageService);
 
@@ -125,12 +132,18 @@ public class ReplyCommand extends CarbonCommand {
                 final Component recipientName = CarbonPlayer.renderName(recipient);
 
                 this.messageService.whisperSender(new SourcedAudience(sender, sender), senderName, recipientName, message);
-                this.messageService.whisperRecipient(new SourcedAudience(sender, recipient), senderName, recipientName, message);
+
+                if (remote) {
+                    this.playerDirectory.whisper(sender.uuid(), recipient.uuid(), senderName, recipientName, message);
+                } else {
+                    this.messageService.whisperRecipient(new SourcedAudience(sender, recipient), senderName, recipientName, message);
+                    recipient.whisperReplyTarget(sender.uuid());
+                }
+
                 this.messageService.whisperConsoleLog(this.carbonChat.server().console(), senderName, recipientName, message);
 
                 sender.lastWhisperTarget(recipient.uuid());
                 sender.whisperReplyTarget(recipient.uuid());
-                recipient.whisperReplyTarget(sender.uuid());
             })
             .build();
 
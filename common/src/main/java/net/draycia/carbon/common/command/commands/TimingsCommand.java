@@ -0,0 +1,115 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.command.commands;
+
+import cloud.commandframework.CommandManager;
+import cloud.commandframework.minecraft.extras.MinecraftExtrasMetaKeys;
+import com.google.inject.Inject;
+import java.util.List;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.events.SubscriberTimings;
+import net.draycia.carbon.common.command.CarbonCommand;
+import net.draycia.carbon.common.command.CommandSettings;
+import net.draycia.carbon.common.command.Commander;
+import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.kyori.adventure.key.Key;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public class TimingsCommand extends CarbonCommand {
+
+    private static final int TOP_OFFENDERS = 10;
+
+    final CarbonChat carbonChat;
+    final CommandManager<Commander> commandManager;
+    final CarbonMessageService messageService;
+
+    @Inject
+    public TimingsCommand(
+        final CarbonChat carbonChat,
+        final CommandManager<Commander> commandManager,
+        final CarbonMessageService messageService
+    ) {
+        this.carbonChat = carbonChat;
+        this.commandManager = commandManager;
+        this.messageService = messageService;
+    }
+
+    @Override
+    protected CommandSettings _commandSettings() {
+        return new CommandSettings("carbon");
+    }
+
+    @Override
+    public Key key() {
+        return Key.key("carbon", "timings");
+    }
+
+    @Override
+    public void init() {
+        final var builder = this.commandManager.commandBuilder(this.commandSettings().name(), this.commandSettings().aliases())
+            .literal("timings")
+            .permission("carbon.timings")
+            .senderType(Commander.class)
+            .meta(MinecraftExtrasMetaKeys.DESCRIPTION, this.messageService.commandTimingsDescription().component());
+
+        this.commandManager.command(builder.handler(handler -> this.showTimings(handler.getSender())).build());
+
+        this.commandManager.command(builder.literal("reset")
+            .handler(handler -> {
+                this.carbonChat.eventHandler().resetTimings();
+                this.messageService.timingsReset(handler.getSender());
+            })
+            .build());
+    }
+
+    private void showTimings(final Commander sender) {
+        if (!this.carbonChat.eventHandler().timingsEnabled()) {
+            this.messageService.timingsDisabled(sender);
+        }
+
+        final List<SubscriberTimings> timings = this.carbonChat.eventHandler().timings();
+
+        if (timings.isEmpty()) {
+            this.messageService.timingsEmpty(sender);
+            return;
+        }
+
+        this.messageService.timingsHeader(sender);
+
+        for (final SubscriberTimings timing : timings.subList(0, Math.min(TOP_OFFENDERS, timings.size()))) {
+            this.messageService.timingsEntry(
+                sender,
+                timing.subscriber(),
+                timing.eventClass().getSimpleName(),
+                String.valueOf(timing.invocations()),
+                millis(timing.averageNanos()),
+                millis(timing.percentileNanos(0.99)),
+                millis(timing.maxNanos())
+            );
+        }
+    }
+
+    private static String millis(final long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000D);
+    }
+
+}
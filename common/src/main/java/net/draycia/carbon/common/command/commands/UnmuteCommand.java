@@ -24,6 +24,8 @@ import cloud.commandframework.arguments.standard.UUIDArgument;
 import cloud.commandframework.minecraft.extras.MinecraftExtrasMetaKeys;
 import cloud.commandframework.minecraft.extras.RichDescription;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import net.draycia.carbon.api.CarbonChat;
@@ -35,7 +37,9 @@ import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.command.argument.CarbonPlayerArgument;
 import net.draycia.carbon.common.command.argument.PlayerSuggestions;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messages.LocaleGroup;
 import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
@@ -104,6 +108,8 @@ public class UnmuteCommand extends CarbonCommand {
                     this.messageService.unmuteAlertPlayers(sender, CarbonPlayer.renderName(target));
                 }
 
+                final List<CarbonPlayer> notified = new ArrayList<>();
+
                 for (final var player : this.carbonChat.server().players()) {
                     if (player.equals(target) || player.equals(sender)) {
                         continue;
@@ -113,7 +119,14 @@ public class UnmuteCommand extends CarbonCommand {
                         continue;
                     }
 
-                    this.messageService.unmuteAlertPlayers(player, CarbonPlayer.renderName(target));
+                    notified.add(player);
+                }
+
+                // Render the alert once per locale instead of once per player
+                final Component targetName = CarbonPlayer.renderName(target);
+
+                for (final LocaleGroup group : LocaleGroup.byLocale(notified)) {
+                    this.messageService.unmuteAlertPlayers(group, targetName);
                 }
 
                 target.muted(false);
@@ -21,9 +21,12 @@ package net.draycia.carbon.common.command.commands;
 
 import cloud.commandframework.CommandManager;
 import cloud.commandframework.arguments.standard.StringArgument;
+import cloud.commandframework.context.CommandContext;
 import cloud.commandframework.minecraft.extras.MinecraftExtrasMetaKeys;
 import cloud.commandframework.minecraft.extras.RichDescription;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.SourcedAudience;
@@ -34,6 +37,7 @@ import net.draycia.carbon.common.command.PlayerCommander;
 import net.draycia.carbon.common.command.argument.CarbonPlayerArgument;
 import net.draycia.carbon.common.command.argument.PlayerSuggestions;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -47,18 +51,21 @@ public class WhisperCommand extends CarbonCommand {
     final CommandManager<Commander> commandManager;
     final CarbonMessageService messageService;
     final PlayerSuggestions playerSuggestions;
+    final PlayerDirectory playerDirectory;
 
     @Inject
     public WhisperCommand(
         final CarbonChat carbonChat,
         final CommandManager<Commander> commandManager,
         final CarbonMessageService messageService,
-        final PlayerSuggestions playerSuggestions
+        final PlayerSuggestions playerSuggestions,
+        final PlayerDirectory playerDirectory
     ) {
         this.carbonChat = carbonChat;
         this.commandManager = commandManager;
         this.messageService = messageService;
         this.playerSuggestions = playerSuggestions;
+        this.playerDirectory = playerDirectory;
     }
 
     @Override
@@ -74,7 +81,8 @@ public class WhisperCommand extends CarbonCommand {
     @Override
     public void init() {
         final var command = this.commandManager.commandBuilder(this.commandSettings().name(), this.commandSettings().aliases())
-            .argument(CarbonPlayerArgument.newBuilder("player").withMessageService(this.messageService).withSuggestionsProvider(this.playerSuggestions).asRequired(),
+            .argument(CarbonPlayerArgument.newBuilder("player").withMessageService(this.messageService).withPlayerDirectory(this.playerDirectory)
+                    .withSuggestionsProvider(this::suggestPlayers).asRequired(),
                 RichDescription.of(this.messageService.commandWhisperArgumentPlayer().component()))
             .argument(StringArgument.greedy("message"),
                 RichDescription.of(this.messageService.commandWhisperArgumentMessage().component()))
@@ -97,7 +105,10 @@ public class WhisperCommand extends CarbonCommand {
                     return;
                 }
 
-                if (!recipient.online() || !sender.awareOf(recipient) && !sender.hasPermission("carbon.whisper.vanished")) {
+                // Online on another server of the network
+                final boolean remote = !recipient.online() && this.playerDirectory.reachable(sender, recipient.uuid());
+
+                if (!remote && (!recipient.online() || !sender.awareOf(recipient) && !sender.hasPermission("carbon.whisper.vanished"))) {
                     final var rawNameInput = CloudUtils.rawInputByMatchingName(handler.getRawInput(), recipient);
                     final var exception = new CarbonPlayerArgument.CarbonPlayerParseException(rawNameInput, handler, this.messageService);
 
@@ -119,16 +130,35 @@ public class WhisperCommand extends CarbonCommand {
                 final Component recipientName = CarbonPlayer.renderName(recipient);
 
                 this.messageService.whisperSender(new SourcedAudience(sender, sender), senderName, recipientName, message);
-                this.messageService.whisperRecipient(new SourcedAudience(sender, recipient), senderName, recipientName, message);
+
+                if (remote) {
+                    this.playerDirectory.whisper(sender.uuid(), recipient.uuid(), senderName, recipientName, message);
+                } else {
+                    this.messageService.whisperRecipient(new SourcedAudience(sender, recipient), senderName, recipientName, message);
+                    recipient.whisperReplyTarget(sender.uuid());
+                }
+
                 this.messageService.whisperConsoleLog(this.carbonChat.server().console(), senderName, recipientName, message);
 
                 sender.lastWhisperTarget(recipient.uuid());
                 sender.whisperReplyTarget(recipient.uuid());
-                recipient.whisperReplyTarget(sender.uuid());
             })
             .build();
 
         this.commandManager.command(command);
     }
 
+    private List<String> suggestPlayers(final CommandContext<Commander> context, final String input) {
+        final List<String> remote = this.playerDirectory.suggestions(context.getSender());
+
+        if (remote.isEmpty()) {
+            return this.playerSuggestions.apply(context, input);
+        }
+
+        final List<String> suggestions = new ArrayList<>(this.playerSuggestions.apply(context, input));
+        suggestions.addAll(remote);
+
+        return suggestions;
+    }
+
 }
@@ -0,0 +1,46 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class ChannelWatcherSettings {
+
+    @Comment("""
+        Whether channel files are reloaded automatically when they're changed.
+        New channel files are registered, their commands too where the platform allows it, otherwise after a restart.
+        Removed channel files stay registered until the next restart.
+        """)
+    private boolean enabled = false;
+
+    @Comment("How many milliseconds to wait for further changes before reloading the changed channel files.")
+    private long debounceMillis = 500;
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public long debounceMillis() {
+        return this.debounceMillis;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class ChatHistorySettings {
+
+    private static final int DEFAULT_MESSAGES_PER_CHANNEL = 50;
+    private static final int MAX_MESSAGES_PER_CHANNEL = 1000;
+    private static final int DEFAULT_MAX_MESSAGE_BYTES = 2048;
+    private static final int MAX_MAX_MESSAGE_BYTES = 32768;
+
+    @Comment("Whether recent messages are kept per channel and replayed to players.")
+    private boolean enabled = false;
+
+    @Comment("""
+        How many messages are kept for each channel, at most 1000.
+        Values of 0 or less fall back to the default.
+        """)
+    private int messagesPerChannel = DEFAULT_MESSAGES_PER_CHANNEL;
+
+    @Comment("""
+        The largest message, in bytes once serialized, that's kept.
+        Each channel reserves messages-per-channel times this many bytes once it's first used.
+        At most 32768, values of 0 or less fall back to the default.
+        """)
+    private int maxMessageBytes = DEFAULT_MAX_MESSAGE_BYTES;
+
+    @Comment("How many of the kept messages are replayed.")
+    private int replayMessages = 20;
+
+    @Comment("Whether messages are replayed when a player joins.")
+    private boolean replayOnJoin = true;
+
+    @Comment("Whether messages are replayed when a player switches channels.")
+    private boolean replayOnChannelSwitch = true;
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+    public int messagesPerChannel() {
+        return clamp(this.messagesPerChannel, DEFAULT_MESSAGES_PER_CHANNEL, MAX_MESSAGES_PER_CHANNEL);
+    }
+
+    public int maxMessageBytes() {
+        return clamp(this.maxMessageBytes, DEFAULT_MAX_MESSAGE_BYTES, MAX_MAX_MESSAGE_BYTES);
+    }
+
+    public int replayMessages() {
+        return Math.max(0, Math.min(this.replayMessages, this.messagesPerChannel()));
+    }
+
+    public boolean replayOnJoin() {
+        return this.replayOnJoin;
+    }
+
+    public boolean replayOnChannelSwitch() {
+        return this.replayOnChannelSwitch;
+    }
+
+    private static int clamp(final int value, final int fallback, final int max) {
+        return value <= 0 ? fallback : Math.min(value, max);
+    }
+
+}
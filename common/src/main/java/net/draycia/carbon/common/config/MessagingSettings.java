@@ -0,0 +1,40 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.config;
+
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+import org.spongepowered.configurate.objectmapping.meta.Comment;
+
+@ConfigSerializable
+public class MessagingSettings {
+
+    @Comment("""
+        Whether Carbon exchanges chat, online players and player state with the other servers of a network.
+        Only enable this on servers behind a proxy that runs Carbon with this enabled too.
+        Without a proxy, players can send these messages to the server themselves.
+        Changes take effect after a restart.
+        """)
+    private boolean enabled = false;
+
+    public boolean enabled() {
+        return this.enabled;
+    }
+
+}
@@ -58,6 +58,18 @@ public class PrimaryConfig {
     @Comment("Various settings related to pinging players in channels.")
     private PingSettings pingSettings = new PingSettings();
 
+    @Comment("Settings for timing Carbon's event listeners, useful to track down chat latency.")
+    private EventTimingSettings eventTimings = new EventTimingSettings();
+
+    @Comment("Settings for keeping recent channel messages and replaying them to players.")
+    private ChatHistorySettings chatHistory = new ChatHistorySettings();
+
+    @Comment("Settings for reloading channel files as soon as they change on disk.")
+    private ChannelWatcherSettings channelWatcher = new ChannelWatcherSettings();
+
+    @Comment("Settings for sharing chat and players between the servers of a network.")
+    private MessagingSettings messaging = new MessagingSettings();
+
     public Locale defaultLocale() {
         return this.defaultLocale;
     }
@@ -82,6 +94,22 @@ public class PrimaryConfig {
         return this.pingSettings;
     }
 
+    public EventTimingSettings eventTimings() {
+        return this.eventTimings;
+    }
+
+    public ChatHistorySettings chatHistory() {
+        return this.chatHistory;
+    }
+
+    public ChannelWatcherSettings channelWatcher() {
+        return this.channelWatcher;
+    }
+
+    public MessagingSettings messaging() {
+        return this.messaging;
+    }
+
     public enum StorageType {
         JSON,
         MYSQL,
@@ -0,0 +1,75 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.events.CarbonChatEvent;
+import net.draycia.carbon.common.channels.ChatHistory;
+import net.draycia.carbon.common.events.CarbonReloadEvent;
+import net.kyori.event.EventSubscription;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public class ChatHistoryHandler {
+
+    private final CarbonChat carbonChat;
+    private final ChatHistory chatHistory;
+    private @Nullable EventSubscription subscription;
+
+    @Inject
+    public ChatHistoryHandler(
+        final CarbonChat carbonChat,
+        final ChatHistory chatHistory
+    ) {
+        this.carbonChat = carbonChat;
+        this.chatHistory = chatHistory;
+
+        this.applySettings();
+
+        // Registered after the config factory's listener, so the reloaded config is used
+        carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> this.applySettings());
+    }
+
+    private synchronized void applySettings() {
+        final boolean enabled = this.chatHistory.settings().enabled();
+
+        if (enabled && this.subscription == null) {
+            // Observed off the chat thread, serializing the message shouldn't delay delivery
+            this.subscription = this.carbonChat.eventHandler().observe(CarbonChatEvent.class, this::record);
+        } else if (!enabled && this.subscription != null) {
+            this.subscription.unsubscribe();
+            this.subscription = null;
+        }
+    }
+
+    private void record(final CarbonChatEvent event) {
+        // Muted messages are only seen by spies
+        if (event.result().cancelled() || event.sender().muted()) {
+            return;
+        }
+
+        // Kept unformatted, replays render it for each viewer
+        this.chatHistory.record(event.chatChannel(), event.sender().uuid(), event.message());
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.events.CarbonChatEvent;
+import net.draycia.carbon.common.channels.ConfigChatChannel;
+import net.draycia.carbon.common.messaging.ChatRelay;
+import net.draycia.carbon.common.util.RendererChain;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public class ChatRelayHandler {
+
+    @Inject
+    public ChatRelayHandler(
+        final CarbonChat carbonChat,
+        final ChatRelay chatRelay
+    ) {
+        // Checked once, so it must not depend on players being online at startup
+        if (!chatRelay.enabled()) {
+            return;
+        }
+
+        carbonChat.eventHandler().observe(CarbonChatEvent.class, event -> {
+            if (!(event.chatChannel() instanceof ConfigChatChannel channel) || !channel.networkWide()) {
+                return;
+            }
+
+            // Muted messages are only seen by spies
+            if (event.result().cancelled() || event.sender().muted()) {
+                return;
+            }
+
+            final Component rendered = RendererChain.of(event.renderers())
+                .renderComponent(event.sender(), carbonChat.server().console(), event.message(), event.message());
+
+            chatRelay.relay(channel, event.sender().uuid(), rendered);
+        });
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.config.EventTimingSettings;
+import net.draycia.carbon.common.events.CarbonReloadEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public class EventTimingsHandler {
+
+    private final CarbonChat carbonChat;
+    private final ConfigFactory configFactory;
+
+    @Inject
+    public EventTimingsHandler(
+        final CarbonChat carbonChat,
+        final ConfigFactory configFactory
+    ) {
+        this.carbonChat = carbonChat;
+        this.configFactory = configFactory;
+
+        this.applySettings();
+
+        // Registered after the config factory's listener, so the reloaded config is used
+        carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> this.applySettings());
+    }
+
+    private void applySettings() {
+        final EventTimingSettings settings = this.configFactory.primaryConfig().eventTimings();
+
+        this.carbonChat.eventHandler().timings(settings.enabled(),
+            (long) (settings.slowListenerThresholdMillis() * 1_000_000D));
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.listeners;
+
+import com.google.inject.Inject;
+import net.draycia.carbon.common.channels.messages.ConfigChannelMessageSource;
+import net.luckperms.api.LuckPermsProvider;
+import net.luckperms.api.event.user.UserDataRecalculateEvent;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+@DefaultQualifier(NonNull.class)
+public class GroupChangeHandler {
+
+    @Inject
+    public GroupChangeHandler(final Logger logger) {
+        try {
+            // Channel formats resolved for a player depend on their groups
+            LuckPermsProvider.get().getEventBus().subscribe(UserDataRecalculateEvent.class, event ->
+                ConfigChannelMessageSource.invalidate(event.getUser().getUniqueId()));
+        } catch (final NoClassDefFoundError | IllegalStateException exception) {
+            logger.debug("LuckPerms is not loaded, chat formats are not refreshed on group changes");
+        }
+    }
+
+}
@@ -20,43 +20,128 @@
 package net.draycia.carbon.common.listeners;
 
 import com.google.inject.Inject;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.events.CarbonChatEvent;
+import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.InventorySlot;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
 
+@DefaultQualifier(NonNull.class)
 public class ItemLinkHandler {
 
+    private static final Map<String, InventorySlot> PLACEHOLDERS = new HashMap<>();
+    private static final Pattern PLACEHOLDER_PATTERN;
+
+    static {
+        for (final var slot : InventorySlot.SLOTS) {
+            for (final var placeholder : slot.placeholders()) {
+                PLACEHOLDERS.putIfAbsent(placeholder, slot);
+            }
+        }
+
+        PLACEHOLDER_PATTERN = Pattern.compile(PLACEHOLDERS.keySet().stream()
+            .map(Pattern::quote)
+            .collect(Collectors.joining("|", "<(", ")>")));
+    }
+
     @Inject
     public ItemLinkHandler(
         final CarbonChat carbonChat
     ) {
-        carbonChat.eventHandler().subscribe(CarbonChatEvent.class, 1, true, event -> {
+        carbonChat.eventHandler().subscribe(CarbonChatEvent.class, 1, false, event -> {
             if (!event.sender().hasPermission("carbon.itemlink")) {
                 return;
             }
 
-            for (final var slot : InventorySlot.SLOTS) {
-                for (final var placeholder : slot.placeholders()) {
-                    event.message(
-                        event.message()
-                            .replaceText(TextReplacementConfig.builder()
-                                .matchLiteral("<" + placeholder + ">")
-                                .once()
-                                .replacement(builder -> {
-                                    final var itemComponent = event.sender().createItemHoverComponent(slot);
-
-                                    if (itemComponent == null) {
-                                        return builder;
-                                    }
-
-                                    return event.sender().createItemHoverComponent(slot);
-                                })
-                                .build())
-                    );
-                }
+            final String content = PlainTextComponentSerializer.plainText().serialize(event.message());
+
+            // Most messages don't reference any items at all, skip the replacement entirely
+            if (content.indexOf('<') == -1) {
+                return;
             }
+
+            final Map<String, Component> itemComponents = resolveItemComponents(event.sender(), content);
+
+            if (itemComponents.isEmpty()) {
+                return;
+            }
+
+            // Each placeholder is only linked once
+            final Set<String> replaced = new HashSet<>();
+
+            event.message(event.message().replaceText(TextReplacementConfig.builder()
+                .match(PLACEHOLDER_PATTERN)
+                .replacement((result, builder) -> {
+                    final String placeholder = result.group(1);
+                    final @Nullable Component itemComponent = itemComponents.get(placeholder);
+
+                    if (itemComponent == null || !replaced.add(placeholder)) {
+                        return builder;
+                    }
+
+                    return itemComponent;
+                })
+                .build()));
         });
     }
 
+    /**
+     * Scans the plain text once for {@code <placeholder>} references and creates
+     * the hover components for the slots that are actually used.
+     *
+     * @param sender  the player whose items are linked
+     * @param content the plain text of the message
+     * @return the item components keyed by placeholder, empty if nothing was found
+     */
+    private static Map<String, Component> resolveItemComponents(final CarbonPlayer sender, final String content) {
+        final Map<String, Component> itemComponents = new HashMap<>();
+        final Map<InventorySlot, @Nullable Component> slotComponents = new HashMap<>();
+
+        int start = content.indexOf('<');
+
+        while (start != -1) {
+            final int end = content.indexOf('>', start + 1);
+
+            if (end == -1) {
+                break;
+            }
+
+            // "<<hand>" - the innermost opening bracket is the start of the candidate
+            start = content.lastIndexOf('<', end);
+
+            final String placeholder = content.substring(start + 1, end);
+            final @Nullable InventorySlot slot = PLACEHOLDERS.get(placeholder);
+
+            if (slot != null && !itemComponents.containsKey(placeholder)) {
+                final @Nullable Component itemComponent;
+
+                if (slotComponents.containsKey(slot)) {
+                    itemComponent = slotComponents.get(slot);
+                } else {
+                    itemComponent = sender.createItemHoverComponent(slot);
+                    slotComponents.put(slot, itemComponent);
+                }
+
+                if (itemComponent != null) {
+                    itemComponents.put(placeholder, itemComponent);
+                }
+            }
+
+            start = content.indexOf('<', end + 1);
+        }
+
+        return itemComponents;
+    }
+
 }
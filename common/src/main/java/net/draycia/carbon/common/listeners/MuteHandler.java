@@ -26,6 +26,7 @@ import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
 import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
@@ -39,8 +40,9 @@ public class MuteHandler {
     private final Key muteKey = key("carbon", "mute");
     private CarbonMessageService messageService;
 
+    // Only spies and non-player audiences such as the console are left to see muted messages
     private final KeyedRenderer renderer =
-        keyedRenderer(this.muteKey, (sender, recipient, message, originalMessage) -> {
+        keyedRenderer(this.muteKey, MuteHandler::seesMutedMessages, (sender, recipient, message, originalMessage) -> {
             // This is an annoying side effect of the RenderedComponent change
             final var prefix = this.messageService.muteSpyPrefix(recipient);
 
@@ -61,9 +63,12 @@ public class MuteHandler {
 
             event.renderers().add(this.renderer);
 
-            event.recipients().removeIf(entry -> entry instanceof CarbonPlayer carbonPlayer &&
-                !carbonPlayer.spying());
+            event.recipients().removeIf(entry -> !seesMutedMessages(entry));
         });
     }
 
+    private static boolean seesMutedMessages(final Audience recipient) {
+        return !(recipient instanceof CarbonPlayer carbonPlayer) || carbonPlayer.spying();
+    }
+
 }
@@ -20,38 +20,38 @@
 package net.draycia.carbon.common.listeners;
 
 import com.google.inject.Inject;
+import java.util.Locale;
 import java.util.regex.Pattern;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.config.ConfigFactory;
-import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
-import static net.draycia.carbon.api.util.KeyedRenderer.keyedRenderer;
+import static net.draycia.carbon.api.util.KeyedRenderer.componentRenderer;
 import static net.kyori.adventure.key.Key.key;
 
 @DefaultQualifier(NonNull.class)
 public class PingHandler {
 
     private final Key muteKey = key("carbon", "pings");
-    private final KeyedRenderer renderer;
+    private final KeyedRenderer.ComponentRenderer renderer;
 
     @Inject
     public PingHandler(final CarbonChat carbonChat, final ConfigFactory configFactory) {
-        this.renderer = keyedRenderer(this.muteKey, (sender, recipient, message, originalMessage) -> {
+        this.renderer = (sender, recipient, message, originalMessage) -> {
             if (!(recipient instanceof CarbonPlayer recipientPlayer)) {
-                return new RenderedMessage(message, MessageType.CHAT);
+                return message;
             }
 
             final String prefix = configFactory.primaryConfig().pings().prefix();
 
-            return new RenderedMessage(message.replaceText(TextReplacementConfig.builder()
+            return message.replaceText(TextReplacementConfig.builder()
                 .match(Pattern.compile(Pattern.quote(prefix + recipientPlayer.username()), Pattern.CASE_INSENSITIVE))
                 .replacement(matchedText -> {
                     if (configFactory.primaryConfig().pings().playSound()) {
@@ -60,11 +60,20 @@ public class PingHandler {
 
                     return matchedText.color(configFactory.primaryConfig().pings().highlightTextColor());
                 })
-                .build()), MessageType.CHAT);
-        });
+                .build());
+        };
 
         carbonChat.eventHandler().subscribe(CarbonChatEvent.class, 1, false, event -> {
-            event.renderers().add(0, this.renderer);
+            final String prefix = configFactory.primaryConfig().pings().prefix().toLowerCase(Locale.ROOT);
+            final String message = PlainTextComponentSerializer.plainText().serialize(event.message()).toLowerCase(Locale.ROOT);
+
+            if (!message.contains(prefix)) {
+                return;
+            }
+
+            // Only mentioned players need the highlight, everyone else would get the message back unchanged
+            event.renderers().add(0, componentRenderer(this.muteKey, recipient ->
+                recipient instanceof CarbonPlayer player && message.contains(prefix + player.username().toLowerCase(Locale.ROOT)), this.renderer));
         });
     }
 
@@ -43,10 +43,12 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 public class CarbonMessageRenderer implements IMessageRenderer<Audience, String, RenderedMessage, Component> {
 
     private final ConfigFactory configFactory;
+    private final StaticMessageCache staticMessages;
 
     @Inject
-    public CarbonMessageRenderer(final ConfigFactory configFactory) {
+    public CarbonMessageRenderer(final ConfigFactory configFactory, final StaticMessageCache staticMessages) {
         this.configFactory = configFactory;
+        this.staticMessages = staticMessages;
     }
 
     @Override
@@ -56,6 +58,19 @@ public class CarbonMessageRenderer implements IMessageRenderer<Audience, String,
         final Map<String, ? extends Component> resolvedPlaceholders,
         final Method method,
         final Type owner
+    ) {
+        if (resolvedPlaceholders.isEmpty()) {
+            return this.staticMessages.render(method, intermediateMessage,
+                () -> this.renderMessage(intermediateMessage, resolvedPlaceholders, method));
+        }
+
+        return this.renderMessage(intermediateMessage, resolvedPlaceholders, method);
+    }
+
+    private RenderedMessage renderMessage(
+        final String intermediateMessage,
+        final Map<String, ? extends Component> resolvedPlaceholders,
+        final Method method
     ) {
         final List<TagResolver> templates = new ArrayList<>();
 
@@ -211,6 +211,35 @@ public interface CarbonMessageService {
     @Message("config.reload.failed")
     void configReloadFailed(final Audience audience);
 
+    /*
+     * =============================================================
+     * ========================== Timings ==========================
+     * =============================================================
+     */
+
+    @Message("command.timings.disabled")
+    void timingsDisabled(final Audience audience);
+
+    @Message("command.timings.empty")
+    void timingsEmpty(final Audience audience);
+
+    @Message("command.timings.header")
+    void timingsHeader(final Audience audience);
+
+    @Message("command.timings.entry")
+    void timingsEntry(
+        final Audience audience,
+        @Placeholder("subscriber") final String subscriber,
+        @Placeholder("event") final String event,
+        @Placeholder("calls") final String calls,
+        @Placeholder("average") final String average,
+        @Placeholder("p99") final String p99,
+        @Placeholder("max") final String max
+    );
+
+    @Message("command.timings.reset")
+    void timingsReset(final Audience audience);
+
     /*
      * =============================================================
      * ====================== Cloud Messages =======================
@@ -314,6 +343,9 @@ public interface CarbonMessageService {
     @Message("command.reply.description")
     RenderedMessage commandReplyDescription();
 
+    @Message("command.timings.description")
+    RenderedMessage commandTimingsDescription();
+
     @Message("command.unignore.argument.player")
     RenderedMessage commandUnignoreArgumentPlayer();
 
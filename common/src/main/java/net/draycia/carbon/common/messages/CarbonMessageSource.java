@@ -36,10 +36,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import net.draycia.carbon.api.CarbonChat;
@@ -56,15 +58,35 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
+/**
+ * Provides the messages of {@link CarbonMessageService} in the locale of their receiver.<br>
+ * The locales bundled in the plugin jar are indexed once, and the locale directory is
+ * indexed on every reload. A locale's file is only read the first time someone needs a
+ * message in it, the default locale is always read. Reloads only read loaded locales
+ * again if their file changed.<br>
+ * Tables are keyed by the locale file a receiver's locale resolves to, not by the locale
+ * the client reports, so there are never more tables than locale files.
+ */
 @Singleton
 @DefaultQualifier(NonNull.class)
 public final class CarbonMessageSource implements IMessageSource<Audience, String> {
 
     private final Locale defaultLocale;
-    private final Map<Locale, Properties> locales = new HashMap<>();
     private final Path pluginJar;
     private final Logger logger;
-    private final Path dataDirectory;
+    private final Path localeDirectory;
+
+    // Bundled locales and the name of their file, indexed once
+    private final Map<Locale, String> bundledLocales = new HashMap<>();
+
+    // Replaced under this, read without locking
+    private volatile Map<Locale, Path> localeFiles = Map.of();
+
+    // Guarded by this
+    private final Map<Locale, LoadedLocale> loadedLocales = new HashMap<>();
+    private final Set<Locale> requestedLocales = new HashSet<>();
+
+    private volatile LocaleTables tables = LocaleTables.EMPTY;
 
     @Inject
     private CarbonMessageSource(
@@ -73,12 +95,13 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         final ConfigFactory configFactory,
         final Logger logger
     ) throws IOException {
-        this.dataDirectory = dataDirectory;
+        this.localeDirectory = dataDirectory.resolve("locale");
         this.pluginJar = pluginJar();
         this.logger = logger;
 
         this.defaultLocale = Objects.requireNonNull(configFactory.primaryConfig()).defaultLocale();
 
+        this.indexBundledLocales();
         this.reloadTranslations();
 
         carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> {
@@ -103,14 +126,7 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         }
     }
 
-    private void reloadTranslations() throws IOException {
-        final Path localeDirectory = this.dataDirectory.resolve("locale");
-
-        // Create locale directory
-        if (!Files.exists(localeDirectory)) {
-            Files.createDirectories(localeDirectory);
-        }
-
+    private void indexBundledLocales() throws IOException {
         this.walkPluginJar(stream -> stream.filter(Files::isRegularFile)
             .filter(it -> {
                 final String pathString = it.toString();
@@ -126,10 +142,23 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
                     return;
                 }
 
-                this.readLocale(localeDirectory, localeFile, locale);
+                this.bundledLocales.put(locale, localeFile.getFileName().toString());
             }));
+    }
+
+    private synchronized void reloadTranslations() throws IOException {
+        // Create locale directory
+        if (!Files.exists(this.localeDirectory)) {
+            Files.createDirectories(this.localeDirectory);
+        }
 
-        try (final Stream<Path> paths = Files.list(localeDirectory)) {
+        final Map<Locale, Path> localeFiles = new HashMap<>();
+
+        for (final Map.Entry<Locale, String> bundled : this.bundledLocales.entrySet()) {
+            localeFiles.put(bundled.getKey(), this.localeDirectory.resolve(bundled.getValue()));
+        }
+
+        try (final Stream<Path> paths = Files.list(this.localeDirectory)) {
             paths.filter(Files::isRegularFile).forEach(localeFile -> {
                 final String localeString = localeString(localeFile);
                 final @Nullable Locale locale = parseLocale(localeString);
@@ -139,28 +168,150 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
                     return;
                 }
 
-                if (this.locales.containsKey(locale)) {
-                    return;
-                }
-
-                this.readLocale(localeDirectory, localeFile, locale);
+                localeFiles.putIfAbsent(locale, localeFile);
             });
         }
+
+        this.localeFiles = localeFiles;
+        this.loadedLocales.keySet().retainAll(localeFiles.keySet());
+        this.requestedLocales.retainAll(localeFiles.keySet());
+
+        // Only read the loaded locales again if their file changed
+        for (final Locale locale : Set.copyOf(this.loadedLocales.keySet())) {
+            final LoadedLocale loaded = this.loadedLocales.get(locale);
+
+            if (loaded.lastModified() != lastModified(localeFiles.get(locale))) {
+                this.loadedLocales.remove(locale);
+                this.properties(locale);
+            }
+        }
+
+        this.properties(this.defaultLocale);
+
+        // Flattening is cheap compared to reading, tables for requested locales are built right away
+        LocaleTables tables = LocaleTables.EMPTY.withDefaults(this.flatten(this.defaultLocale));
+
+        for (final Locale locale : this.requestedLocales) {
+            tables = tables.with(locale, this.flatten(locale));
+        }
+
+        this.tables = tables;
     }
 
-    private void readLocale(final Path localeDirectory, final Path localeFile, final Locale locale) {
+    /**
+     * Gets the properties of a locale that has a file, reading it if it isn't loaded yet.
+     *
+     * @param locale the locale of the file
+     * @return the locale's properties, or null if there is no file for it or it can't be read
+     */
+    private @Nullable Properties properties(final Locale locale) {
+        final @Nullable LoadedLocale loaded = this.loadedLocales.get(locale);
+
+        if (loaded != null) {
+            return loaded.properties();
+        }
+
+        final @Nullable Path localeFile = this.localeFiles.get(locale);
+
+        if (localeFile == null) {
+            return null;
+        }
+
         this.logger.info("Found locale {} ({}) in: {}", locale.getDisplayName(), locale, localeFile);
 
         final Properties properties = new Properties();
 
         try {
-            this.loadProperties(properties, localeDirectory, localeFile);
-            this.locales.put(locale, properties);
+            this.loadProperties(properties, localeFile, this.bundledLocales.get(locale));
+            this.loadedLocales.put(locale, new LoadedLocale(properties, lastModified(localeFile)));
 
             this.logger.info("Successfully loaded locale {} ({})", locale.getDisplayName(), locale);
+            return properties;
         } catch (final IOException ex) {
             this.logger.warn("Unable to load locale {} ({}) from source: {}", locale.getDisplayName(), locale, localeFile, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the table of a locale file: the default locale's messages, overridden by the
+     * messages of the locale's language, overridden by the locale's own messages.
+     */
+    private Map<String, String> flatten(final Locale locale) {
+        final Map<String, String> table = new HashMap<>();
+
+        putAll(table, this.properties(this.defaultLocale));
+
+        final @Nullable Locale languageLocale = this.languageLocale(locale.getLanguage());
+
+        if (languageLocale != null && !languageLocale.equals(this.defaultLocale)) {
+            putAll(table, this.properties(languageLocale));
         }
+
+        if (!locale.equals(languageLocale) && !locale.equals(this.defaultLocale)) {
+            putAll(table, this.properties(locale));
+        }
+
+        return Map.copyOf(table);
+    }
+
+    /**
+     * Resolves a receiver's locale to the locale file whose table holds its messages:
+     * the locale's own file if there is one, otherwise its language's fallback.
+     *
+     * @param locale the receiver's locale
+     * @return the locale of the table, or null if the default table is used
+     */
+    private @Nullable Locale tableLocale(final Locale locale) {
+        final Locale fileLocale = fileLocale(locale);
+        final @Nullable Locale resolved = this.localeFiles.containsKey(fileLocale)
+            ? fileLocale
+            : this.languageLocale(fileLocale.getLanguage());
+
+        return resolved == null || resolved.equals(this.defaultLocale) ? null : resolved;
+    }
+
+    /**
+     * Picks the locale a language falls back to: the default locale if it's the same language,
+     * otherwise the language's locale without a country, otherwise any of its locales.
+     */
+    private @Nullable Locale languageLocale(final String language) {
+        if (this.defaultLocale.getLanguage().equals(language)) {
+            return this.defaultLocale;
+        }
+
+        @Nullable Locale candidate = null;
+
+        for (final Locale locale : this.localeFiles.keySet()) {
+            if (!locale.getLanguage().equals(language)) {
+                continue;
+            }
+
+            if (locale.getCountry().isEmpty()) {
+                return locale;
+            }
+
+            if (candidate == null || locale.toString().compareTo(candidate.toString()) < 0) {
+                candidate = locale;
+            }
+        }
+
+        return candidate;
+    }
+
+    private synchronized Map<String, String> requestTable(final Locale locale) {
+        final @Nullable Map<String, String> loaded = this.tables.table(locale);
+
+        if (loaded != null) {
+            return loaded;
+        }
+
+        final Map<String, String> table = this.flatten(locale);
+
+        this.requestedLocales.add(locale);
+        this.tables = this.tables.with(locale, table);
+
+        return table;
     }
 
     @Override
@@ -173,30 +324,32 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         }
 
         if (audience instanceof CarbonPlayer player) {
-            return this.forPlayer(messageKey, player);
+            return this.forLocale(messageKey, player.locale());
+        } else if (audience instanceof LocaleGroup group) {
+            return this.forLocale(messageKey, group.locale());
         } else {
             return this.forAudience(messageKey, audience);
         }
     }
 
-    private String forPlayer(final String key, final CarbonPlayer player) {
-        if (player.locale() != null) {
-            final var properties = this.locales.get(player.locale());
+    private String forLocale(final String key, final @Nullable Locale locale) {
+        final @Nullable Locale tableLocale = locale == null ? null : this.tableLocale(locale);
 
-            if (properties != null) {
-                final var message = properties.getProperty(key);
-
-                if (message != null) {
-                    return message;
-                }
-            }
+        if (tableLocale == null) {
+            return lookup(this.tables.defaults(), key);
         }
 
-        return this.forAudience(key, player);
+        final @Nullable Map<String, String> table = this.tables.table(tableLocale);
+
+        return lookup(table != null ? table : this.requestTable(tableLocale), key);
     }
 
     private String forAudience(final String key, final Audience audience) {
-        final String value = this.locales.get(this.defaultLocale).getProperty(key);
+        return lookup(this.tables.defaults(), key);
+    }
+
+    private static String lookup(final Map<String, String> table, final String key) {
+        final @Nullable String value = table.get(key);
 
         if (value == null) {
             throw new IllegalStateException("No message mapping for key " + key);
@@ -224,15 +377,9 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
 
     private void loadProperties(
         final Properties properties,
-        final Path localeDirectory,
-        final Path localeFile
+        final Path savedFile,
+        final @Nullable String bundledFile
     ) throws IOException {
-        final Path savedFile = localeDirectory.resolve(localeFile.getFileName().toString());
-        if (localeFile.normalize().toAbsolutePath().equals(savedFile.normalize().toAbsolutePath())) {
-            // Origin file and destination file are the same (ie locale was not in the jar, user added)
-            return;
-        }
-
         // If the file in the localeDirectory exists, read it to the properties
         if (Files.isRegularFile(savedFile)) {
             final InputStream inputStream = Files.newInputStream(savedFile);
@@ -241,10 +388,21 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
             }
         }
 
+        if (bundledFile == null) {
+            // Locale was not in the jar, user added
+            return;
+        }
+
         boolean write = !Files.isRegularFile(savedFile);
 
         // Read the file in the jar and add missing entries
-        try (final Reader reader = new InputStreamReader(Files.newInputStream(localeFile), StandardCharsets.UTF_8)) {
+        final @Nullable InputStream packagedStream = this.getClass().getClassLoader().getResourceAsStream("locale/" + bundledFile);
+
+        if (packagedStream == null) {
+            return;
+        }
+
+        try (final Reader reader = new InputStreamReader(packagedStream, StandardCharsets.UTF_8)) {
             final Properties packaged = new Properties();
             packaged.load(reader);
 
@@ -261,6 +419,24 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         }
     }
 
+    private static long lastModified(final @Nullable Path file) {
+        try {
+            return file != null && Files.isRegularFile(file) ? Files.getLastModifiedTime(file).toMillis() : 0;
+        } catch (final IOException exception) {
+            return 0;
+        }
+    }
+
+    private static void putAll(final Map<String, String> table, final @Nullable Properties properties) {
+        if (properties == null) {
+            return;
+        }
+
+        for (final String key : properties.stringPropertyNames()) {
+            table.put(key, properties.getProperty(key));
+        }
+    }
+
     private static String localeString(final Path localeFile) {
         return localeFile.getFileName().toString().substring("messages-".length()).replace(".properties", "");
     }
@@ -272,4 +448,20 @@ public final class CarbonMessageSource implements IMessageSource<Audience, Strin
         return Translator.parseLocale(localeString);
     }
 
+    /**
+     * The locale whose file holds the messages of a player's locale.
+     */
+    private static Locale fileLocale(final Locale locale) {
+        // Files for nb_NO are loaded as no_NO
+        if (locale.getLanguage().equals("nb")) {
+            return new Locale("no", locale.getCountry());
+        }
+
+        return locale;
+    }
+
+    private record LoadedLocale(Properties properties, long lastModified) {
+
+    }
+
 }
@@ -0,0 +1,72 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messages;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Players that share a locale.<br>
+ * Passing a group to a {@link CarbonMessageService} method renders the message once, in the
+ * group's locale, and sends the result to every player of the group.
+ *
+ * @param locale  the players' locale, or null for the default locale
+ * @param players the players
+ */
+@DefaultQualifier(NonNull.class)
+public record LocaleGroup(@Nullable Locale locale, List<CarbonPlayer> players) implements ForwardingAudience {
+
+    /**
+     * Groups players by their locale, to broadcast a message to them.
+     *
+     * @param players the players
+     * @return a group per locale
+     */
+    public static List<LocaleGroup> byLocale(final Iterable<? extends CarbonPlayer> players) {
+        final Map<@Nullable Locale, List<CarbonPlayer>> groups = new HashMap<>();
+
+        for (final CarbonPlayer player : players) {
+            groups.computeIfAbsent(player.locale(), locale -> new ArrayList<>()).add(player);
+        }
+
+        final List<LocaleGroup> localeGroups = new ArrayList<>(groups.size());
+
+        for (final Map.Entry<@Nullable Locale, List<CarbonPlayer>> group : groups.entrySet()) {
+            localeGroups.add(new LocaleGroup(group.getKey(), group.getValue()));
+        }
+
+        return localeGroups;
+    }
+
+    @Override
+    public Iterable<? extends Audience> audiences() {
+        return this.players;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messages;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Immutable message tables, one per locale, with the fallback chain already applied.<br>
+ * A locale's table contains its own messages, then the messages of its language,
+ * then the messages of the default locale, so a lookup is a single map read.
+ * Adding a table creates a new instance, so readers never see a table being built.
+ *
+ * @param locales  the tables of the locale files that were requested so far
+ * @param defaults the table of the default locale
+ */
+@DefaultQualifier(NonNull.class)
+record LocaleTables(Map<Locale, Map<String, String>> locales, Map<String, String> defaults) {
+
+    static final LocaleTables EMPTY = new LocaleTables(Map.of(), Map.of());
+
+    @Nullable Map<String, String> table(final Locale locale) {
+        return this.locales.get(locale);
+    }
+
+    LocaleTables with(final Locale locale, final Map<String, String> table) {
+        final Map<Locale, Map<String, String>> locales = new HashMap<>(this.locales);
+        locales.put(locale, table);
+
+        return new LocaleTables(Map.copyOf(locales), this.defaults);
+    }
+
+    LocaleTables withDefaults(final Map<String, String> defaults) {
+        return new LocaleTables(this.locales, defaults);
+    }
+
+}
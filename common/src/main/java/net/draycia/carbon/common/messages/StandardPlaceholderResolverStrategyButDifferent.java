@@ -18,12 +18,16 @@
 package net.draycia.carbon.common.messages;
 
 import io.leangen.geantyref.GenericTypeReflector;
+import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.kyori.moonshine.Moonshine;
 import net.kyori.moonshine.annotation.Placeholder;
 import net.kyori.moonshine.annotation.meta.ThreadSafe;
@@ -44,6 +48,11 @@ public final class StandardPlaceholderResolverStrategyButDifferent<R, I, F> impl
 
     private final ISupertypeStrategy supertypeStrategy = new StandardSupertypeThenInterfaceSupertypeStrategy(false);
 
+    // The parameters of a method and the resolvers of a type don't change once the
+    // Moonshine instance is built, so they're only reflected on the first time they're used
+    private final Map<Method, ParameterDescriptor[]> methodParameters = new ConcurrentHashMap<>();
+    private final Map<Type, List<IPlaceholderResolver<R, Object, ? extends F>>> typeResolvers = new ConcurrentHashMap<>();
+
     @Override
     public Map<String, ? extends F> resolvePlaceholders(final Moonshine<R, I, ?, F> moonshine,
                                                         final R receiver, final I intermediateText,
@@ -54,39 +63,35 @@ public final class StandardPlaceholderResolverStrategyButDifferent<R, I, F> impl
             return Collections.emptyMap();
         }
 
+        final ParameterDescriptor[] descriptors = this.methodParameters.computeIfAbsent(
+            moonshineMethod.reflectMethod(), method -> describe(method, moonshine.proxiedType()));
         final Map<String, F> finalisedPlaceholders = new LinkedHashMap<>(parameters.length);
-        final Map<String, ContinuanceValue<?>> resolvingPlaceholders = new LinkedHashMap<>(16);
-        final Parameter[] methodParameters = moonshineMethod.reflectMethod().getParameters();
-        final Type[] exactParameterTypes = GenericTypeReflector.getParameterTypes(
-            moonshineMethod.reflectMethod(), moonshine.proxiedType());
+        final Map<String, ContinuanceValue<?>> continuedPlaceholders = new LinkedHashMap<>(4);
 
         // Don't resolve recipients
         for (int idx = 1; idx < parameters.length; ++idx) {
-
-            final Parameter parameter = methodParameters[idx];
             final @Nullable Object value = parameters[idx];
             if (value == null) {
                 // Nothing to resolve with.
                 continue;
             }
 
-            final Type parameterType = GenericTypeReflector.getExactSubType(
-                exactParameterTypes[idx], value.getClass());
+            final ParameterDescriptor descriptor = descriptors[idx];
 
-            final @Nullable Placeholder placeholder = parameter.getAnnotation(Placeholder.class);
-
-            final String placeholderName = (placeholder != null && !placeholder.value().isEmpty())
-                ? placeholder.value()
-                : parameter.getName();
+            this.resolvePlaceholder(moonshine, receiver, descriptor.name(), value, descriptor.exactType(value.getClass()),
+                finalisedPlaceholders, continuedPlaceholders, moonshineMethod, parameters);
+        }
 
-            resolvingPlaceholders
-                .put(placeholderName, ContinuanceValue.continuanceValue(value, parameterType));
+        // Resolvers may hand back values that need resolving themselves
+        while (!continuedPlaceholders.isEmpty()) {
+            final Iterator<Map.Entry<String, ContinuanceValue<?>>> iterator = continuedPlaceholders.entrySet().iterator();
+            final Map.Entry<String, ContinuanceValue<?>> continuanceEntry = iterator.next();
+            iterator.remove();
 
+            this.resolvePlaceholder(moonshine, receiver, continuanceEntry.getKey(), continuanceEntry.getValue().value(),
+                continuanceEntry.getValue().type(), finalisedPlaceholders, continuedPlaceholders, moonshineMethod, parameters);
         }
 
-        this.resolvePlaceholder(moonshine, receiver, finalisedPlaceholders,
-            resolvingPlaceholders, moonshineMethod, parameters);
-
         return finalisedPlaceholders;
     }
 
@@ -94,60 +99,100 @@ public final class StandardPlaceholderResolverStrategyButDifferent<R, I, F> impl
      * Resolve a single placeholder.
      *
      * @param moonshine             the moonshine instance
+     * @param name                  the name of the placeholder
+     * @param value                 the value of the placeholder
+     * @param type                  the exact type of the value
      * @param finalisedPlaceholders the finalised placeholders
-     * @param resolvingPlaceholders the placeholders to resolve
+     * @param continuedPlaceholders the placeholders still to resolve
      * @param moonshineMethod       the method we are resolving a placeholder for
      */
     private void resolvePlaceholder(final Moonshine<R, I, ?, F> moonshine, final R receiver,
+                                    final String name, final Object value, final Type type,
                                     final Map<String, F> finalisedPlaceholders,
-                                    final Map<String, ContinuanceValue<?>> resolvingPlaceholders,
+                                    final Map<String, ContinuanceValue<?>> continuedPlaceholders,
                                     final MoonshineMethod<? extends R> moonshineMethod, final @Nullable Object[] parameters)
         throws UnfinishedPlaceholderException {
+        final List<IPlaceholderResolver<R, Object, ? extends F>> resolvers =
+            this.typeResolvers.computeIfAbsent(type, it -> this.resolvers(moonshine, it));
+
+        for (int i = 0; i < resolvers.size(); i++) {
+            final var resolverResult = resolvers.get(i).resolve(name, value, receiver,
+                moonshineMethod.owner().getType(), moonshineMethod.reflectMethod(), parameters);
+            if (resolverResult == null) {
+                // The resolver did not want to resolve this; pass it on.
+                continue;
+            }
+
+            resolverResult.forEach((resolvedName, resolvedValue) ->
+                resolvedValue.map(conclusionValue -> finalisedPlaceholders
+                        .put(resolvedName, conclusionValue.value()),
+                    continuanceValue -> continuedPlaceholders.put(resolvedName, continuanceValue)));
+            return;
+        }
+
+        throw new UnfinishedPlaceholderException(moonshineMethod, name, value);
+    }
+
+    /**
+     * Collects the resolvers for a type, in the order they are tried: the type's
+     * own resolvers first, then those of its supertypes, each by weight.
+     */
+    private List<IPlaceholderResolver<R, Object, ? extends F>> resolvers(final Moonshine<R, I, ?, F> moonshine, final Type type) {
         final var weightedPlaceholderResolvers = moonshine.weightedPlaceholderResolvers();
+        final List<IPlaceholderResolver<R, Object, ? extends F>> resolvers = new ArrayList<>();
+        final Iterator<Type> hierarchyIterator =
+            new PrefixedDelegateIterator<>(type, this.supertypeStrategy.hierarchyIterator(type));
+
+        while (hierarchyIterator.hasNext()) {
+            for (final var weighted : weightedPlaceholderResolvers.getOrDefault(hierarchyIterator.next(), emptyNavigableSet())) {
+                @SuppressWarnings("unchecked") // This should be equivalent.
+                final var placeholderResolver =
+                    (IPlaceholderResolver<R, Object, ? extends F>) weighted.value();
+                resolvers.add(placeholderResolver);
+            }
+        }
 
-        // Shamelessly stealing kashike's joke
-        dancing:
-        while (!resolvingPlaceholders.isEmpty()) {
-            final var resolvingPlaceholderIterator = resolvingPlaceholders.entrySet().iterator();
-            while (resolvingPlaceholderIterator.hasNext()) {
-                final var continuanceEntry = resolvingPlaceholderIterator.next();
-                final String continuancePlaceholderName = continuanceEntry.getKey();
-                final Type type = continuanceEntry.getValue().type();
-                final Object value = continuanceEntry.getValue().value();
-
-                final Iterator<Type> hierarchyIterator =
-                    new PrefixedDelegateIterator<>(type, this.supertypeStrategy.hierarchyIterator(type));
-                while (hierarchyIterator.hasNext()) {
-                    final Type supertype = hierarchyIterator.next();
-
-                    for (final var weighted : weightedPlaceholderResolvers.getOrDefault(supertype, emptyNavigableSet())) {
-                        @SuppressWarnings("unchecked") // This should be equivalent.
-                        final var placeholderResolver =
-                            (IPlaceholderResolver<R, Object, ? extends F>) weighted.value();
-
-                        final var resolverResult =
-                            placeholderResolver.resolve(continuancePlaceholderName, value, receiver,
-                                moonshineMethod.owner().getType(),
-                                moonshineMethod.reflectMethod(), parameters);
-                        if (resolverResult == null) {
-                            // The resolver did not want to resolve this; pass it on.
-                            continue;
-                        }
-
-                        resolvingPlaceholderIterator.remove();
-
-                        resolverResult.forEach((resolvedName, resolvedValue) ->
-                            resolvedValue.map(conclusionValue -> finalisedPlaceholders
-                                    .put(resolvedName, conclusionValue.value()),
-                                continuanceValue -> resolvingPlaceholders.put(resolvedName, continuanceValue)));
-
-                        continue dancing;
-                    }
-                }
-
-                throw new UnfinishedPlaceholderException(moonshineMethod, continuancePlaceholderName, value);
+        return List.copyOf(resolvers);
+    }
+
+    private static ParameterDescriptor[] describe(final Method method, final Type proxiedType) {
+        final Parameter[] methodParameters = method.getParameters();
+        final Type[] exactParameterTypes = GenericTypeReflector.getParameterTypes(method, proxiedType);
+        final ParameterDescriptor[] descriptors = new ParameterDescriptor[methodParameters.length];
+
+        for (int idx = 0; idx < methodParameters.length; ++idx) {
+            final Parameter parameter = methodParameters[idx];
+            final @Nullable Placeholder placeholder = parameter.getAnnotation(Placeholder.class);
+            final String placeholderName = (placeholder != null && !placeholder.value().isEmpty())
+                ? placeholder.value()
+                : parameter.getName();
+
+            descriptors[idx] = new ParameterDescriptor(placeholderName, exactParameterTypes[idx], new ConcurrentHashMap<>(2));
+        }
+
+        return descriptors;
+    }
+
+    /**
+     * A parameter of a message method.
+     *
+     * @param name         the placeholder name
+     * @param declaredType the exact declared type of the parameter
+     * @param exactTypes   the exact type for each class of value passed so far
+     */
+    private record ParameterDescriptor(String name, Type declaredType, Map<Class<?>, Type> exactTypes) {
+
+        Type exactType(final Class<?> valueClass) {
+            final @Nullable Type exactType = this.exactTypes.get(valueClass);
+
+            if (exactType != null) {
+                return exactType;
             }
+
+            return this.exactTypes.computeIfAbsent(valueClass,
+                it -> GenericTypeReflector.getExactSubType(this.declaredType, it));
         }
+
     }
 
 }
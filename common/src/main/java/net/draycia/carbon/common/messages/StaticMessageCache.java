@@ -0,0 +1,88 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messages;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.util.RenderedMessage;
+import net.draycia.carbon.common.events.CarbonReloadEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Caches the rendered form of messages without placeholders.<br>
+ * Such a message renders the same for everyone who gets it in the same locale, so it's
+ * keyed by the message method and the localised message text. The cache is cleared when
+ * Carbon reloads, as custom placeholders may have changed.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class StaticMessageCache {
+
+    // Bounded by the messages times the locales, this is only a safeguard
+    private static final int MAX_SIZE = 4096;
+
+    private final Map<Entry, RenderedMessage> messages = new ConcurrentHashMap<>();
+
+    @Inject
+    public StaticMessageCache(final CarbonChat carbonChat) {
+        carbonChat.eventHandler().subscribe(CarbonReloadEvent.class, event -> this.messages.clear());
+    }
+
+    /**
+     * Gets the cached rendering of a message, rendering it if it isn't cached.
+     *
+     * @param method              the message method
+     * @param intermediateMessage the localised message text
+     * @param renderer            renders the message
+     * @return the rendered message
+     */
+    public RenderedMessage render(
+        final Method method,
+        final String intermediateMessage,
+        final Supplier<RenderedMessage> renderer
+    ) {
+        final Entry entry = new Entry(method, intermediateMessage);
+        final @Nullable RenderedMessage cached = this.messages.get(entry);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final RenderedMessage rendered = renderer.get();
+
+        if (this.messages.size() < MAX_SIZE) {
+            this.messages.put(entry, rendered);
+        }
+
+        return rendered;
+    }
+
+    private record Entry(Method method, String intermediateMessage) {
+
+    }
+
+}
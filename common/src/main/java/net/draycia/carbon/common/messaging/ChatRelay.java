@@ -0,0 +1,328 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messaging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.channels.ChatChannel;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.channels.ChatHistory;
+import net.draycia.carbon.common.channels.ConfigChatChannel;
+import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Relays messages of network-wide channels to the other servers of the network.<br>
+ * Messages are batched for a few milliseconds and sent in one binary envelope:
+ * <pre>
+ * byte   type (1)
+ * long   origin node, most significant bits
+ * long   origin node, least significant bits
+ * int    message count
+ * per message:
+ *   long  message id, most / least significant bits
+ *   long  sender, most / least significant bits
+ *   UTF   channel key
+ *   int   component length, followed by the component as UTF-8 gson JSON
+ * </pre>
+ * Batches are split so every envelope fits in a plugin message. Envelopes from this node
+ * and messages that were already received are dropped, so messages aren't echoed back
+ * when the proxy forwards them. Messages for channels that aren't network-wide here are dropped too.<br>
+ * On the proxy messages are only forwarded. Its players are the players of every
+ * server and already see messages sent through the proxy.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class ChatRelay {
+
+    static final byte TYPE_CHAT = 1;
+
+    private static final long BATCH_WINDOW_MILLIS = 5;
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final int SEEN_MESSAGES = 4096;
+    // type, origin node and message count
+    private static final int HEADER_BYTES = 1 + 16 + 4;
+
+    private final UUID node = UUID.randomUUID();
+    private final CarbonChat carbonChat;
+    private final MessagingTransport transport;
+    private final ConfigFactory configFactory;
+    private final ChatHistory chatHistory;
+    private final Logger logger;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("CarbonChat-Relay")
+        .setDaemon(true)
+        .build());
+    private final Map<UUID, Boolean> seen = new LinkedHashMap<>(SEEN_MESSAGES, 0.75F) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<UUID, Boolean> eldest) {
+            return this.size() > SEEN_MESSAGES;
+        }
+    };
+    private List<RelayedMessage> pending = new ArrayList<>();
+
+    @Inject
+    public ChatRelay(
+        final CarbonChat carbonChat,
+        final MessagingTransport transport,
+        final ConfigFactory configFactory,
+        final ChatHistory chatHistory,
+        final Logger logger
+    ) {
+        this.carbonChat = carbonChat;
+        this.transport = transport;
+        this.configFactory = configFactory;
+        this.chatHistory = chatHistory;
+        this.logger = logger;
+
+        if (!transport.hub()) {
+            transport.receiver(this::receive);
+        }
+    }
+
+    /**
+     * Whether this server relays messages at all, decided once at startup.<br>
+     * Unlike {@link #available()} this doesn't depend on the transport being connected
+     * right now, a backend without players can't send but will once someone joins.
+     *
+     * @return if messaging is enabled and this isn't the proxy
+     */
+    public boolean enabled() {
+        return this.configFactory.primaryConfig().messaging().enabled() && !this.transport.hub();
+    }
+
+    public boolean available() {
+        return this.transport.available() && !this.transport.hub();
+    }
+
+    /**
+     * Queues a message to be relayed to the other servers.
+     *
+     * @param channel the channel the message was sent in
+     * @param sender  the sender of the message
+     * @param message the message as it's shown to recipients
+     */
+    public void relay(final ChatChannel channel, final UUID sender, final Component message) {
+        if (this.flusher.isShutdown()) {
+            return;
+        }
+
+        final RelayedMessage relayed = new RelayedMessage(UUID.randomUUID(), sender, channel.key(),
+            GsonComponentSerializer.gson().serialize(message).getBytes(StandardCharsets.UTF_8));
+        final int size;
+
+        synchronized (this) {
+            this.pending.add(relayed);
+            size = this.pending.size();
+        }
+
+        if (size == 1) {
+            this.flusher.schedule(this::flush, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        } else if (size == MAX_BATCH_SIZE) {
+            this.flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Stops relaying messages, a batch that is already queued is still sent.
+     */
+    public void stop() {
+        this.flusher.shutdown();
+    }
+
+    private void flush() {
+        final List<RelayedMessage> batch;
+
+        synchronized (this) {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+
+            batch = this.pending;
+            this.pending = new ArrayList<>();
+        }
+
+        for (final List<RelayedMessage> envelope : this.split(batch)) {
+            try {
+                this.transport.send(this.encode(envelope));
+            } catch (final Exception exception) {
+                this.logger.error("Failed to relay {} chat messages", envelope.size(), exception);
+            }
+        }
+    }
+
+    private List<List<RelayedMessage>> split(final List<RelayedMessage> batch) {
+        final List<List<RelayedMessage>> envelopes = new ArrayList<>(1);
+        List<RelayedMessage> envelope = new ArrayList<>(batch.size());
+        int size = HEADER_BYTES;
+
+        for (final RelayedMessage message : batch) {
+            final int messageSize = message.encodedSize();
+
+            if (HEADER_BYTES + messageSize > MessagingTransport.MAX_PAYLOAD_BYTES) {
+                this.logger.warn("Dropped a message in channel [{}], it's too large to be relayed", message.channel().asString());
+                continue;
+            }
+
+            if (size + messageSize > MessagingTransport.MAX_PAYLOAD_BYTES) {
+                envelopes.add(envelope);
+                envelope = new ArrayList<>();
+                size = HEADER_BYTES;
+            }
+
+            envelope.add(message);
+            size += messageSize;
+        }
+
+        if (!envelope.isEmpty()) {
+            envelopes.add(envelope);
+        }
+
+        return envelopes;
+    }
+
+    private byte[] encode(final List<RelayedMessage> batch) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + batch.size() * 256);
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(TYPE_CHAT);
+        writeUuid(out, this.node);
+        out.writeInt(batch.size());
+
+        for (final RelayedMessage message : batch) {
+            writeUuid(out, message.id());
+            writeUuid(out, message.sender());
+            out.writeUTF(message.channel().asString());
+            out.writeInt(message.component().length);
+            out.write(message.component());
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void receive(final byte[] payload) {
+        if (payload.length == 0 || payload[0] != TYPE_CHAT) {
+            return;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            in.readByte();
+
+            if (readUuid(in).equals(this.node)) {
+                return;
+            }
+
+            final int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                final UUID id = readUuid(in);
+                final UUID sender = readUuid(in);
+                final Key channelKey = Key.key(in.readUTF());
+                final int length = in.readInt();
+
+                if (length < 0 || length > in.available()) {
+                    this.logger.warn("Dropped malformed relayed chat messages");
+                    return;
+                }
+
+                final byte[] component = new byte[length];
+                in.readFully(component);
+
+                final @Nullable ChatChannel channel = this.carbonChat.channelRegistry().get(channelKey);
+
+                if (!(channel instanceof ConfigChatChannel configChannel) || !configChannel.networkWide()) {
+                    continue;
+                }
+
+                if (this.markSeen(id)) {
+                    this.deliver(sender, channel, GsonComponentSerializer.gson().deserialize(new String(component, StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (final Exception exception) {
+            this.logger.error("Failed to read relayed chat messages", exception);
+        }
+    }
+
+    private synchronized boolean markSeen(final UUID id) {
+        return this.seen.put(id, Boolean.TRUE) == null;
+    }
+
+    private void deliver(final UUID sender, final ChatChannel channel, final Component message) {
+        final Identity identity = Identity.identity(sender);
+
+        for (final CarbonPlayer player : this.carbonChat.server().players()) {
+            if (player.deafened() || !channel.hearingPermitted(player).permitted()) {
+                continue;
+            }
+
+            if (player instanceof WrappedCarbonPlayer wrapped && wrapped.carbonPlayerCommon().ignoring(sender)) {
+                continue;
+            }
+
+            player.sendMessage(identity, message);
+        }
+
+        this.carbonChat.server().console().sendMessage(identity, message);
+        this.chatHistory.recordRendered(channel, sender, message);
+    }
+
+    private static void writeUuid(final DataOutputStream out, final UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private record RelayedMessage(UUID id, UUID sender, Key channel, byte[] component) {
+
+        int encodedSize() {
+            // ids, channel key with its length prefix, component with its length prefix
+            return 16 + 16 + 2 + this.channel.asString().length() + 4 + this.component.length;
+        }
+
+    }
+
+}
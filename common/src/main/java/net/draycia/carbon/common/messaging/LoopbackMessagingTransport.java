@@ -0,0 +1,76 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messaging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * In-memory transport that delivers payloads directly to connected transports.<br>
+ * Unconnected it's the default on platforms without a network transport, and it can
+ * stand in for a network when several instances run in the same process.
+ */
+@DefaultQualifier(NonNull.class)
+public final class LoopbackMessagingTransport implements MessagingTransport {
+
+    private final List<LoopbackMessagingTransport> peers = new CopyOnWriteArrayList<>();
+    private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Connects two transports, so payloads sent by either are received by the other.
+     *
+     * @param other the transport to connect to
+     */
+    public void connect(final LoopbackMessagingTransport other) {
+        if (other == this || this.peers.contains(other)) {
+            return;
+        }
+
+        this.peers.add(other);
+        other.peers.add(this);
+    }
+
+    @Override
+    public boolean available() {
+        return !this.peers.isEmpty();
+    }
+
+    @Override
+    public void send(final byte[] payload) {
+        for (final LoopbackMessagingTransport peer : this.peers) {
+            peer.deliver(payload.clone());
+        }
+    }
+
+    @Override
+    public void receiver(final Consumer<byte[]> receiver) {
+        this.receivers.add(receiver);
+    }
+
+    private void deliver(final byte[] payload) {
+        for (final Consumer<byte[]> receiver : this.receivers) {
+            receiver.accept(payload);
+        }
+    }
+
+}
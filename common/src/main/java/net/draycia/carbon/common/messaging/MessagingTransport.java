@@ -0,0 +1,78 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messaging;
+
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Carries payloads between the Carbon instances of a network, for example
+ * between backend servers and the proxy over plugin messaging.
+ */
+@DefaultQualifier(NonNull.class)
+public interface MessagingTransport {
+
+    /**
+     * The plugin messaging channel used by transports built on plugin messages.
+     */
+    String CHANNEL = "carbon:relay";
+
+    /**
+     * The largest payload that can be sent, the limit of plugin messages sent to a server.
+     */
+    int MAX_PAYLOAD_BYTES = 32767;
+
+    /**
+     * Whether payloads can currently reach other instances.
+     *
+     * @return if the transport is connected
+     */
+    boolean available();
+
+    /**
+     * Whether this instance forwards payloads between the other instances, as a proxy does.<br>
+     * A hub's own players are the players of the whole network.
+     *
+     * @return if the transport is the hub of the network
+     */
+    default boolean hub() {
+        return false;
+    }
+
+    /**
+     * Sends a payload to every other instance.<br>
+     * Payloads are not delivered back to this instance's receivers. Payloads larger
+     * than {@link #MAX_PAYLOAD_BYTES} may be dropped.
+     *
+     * @param payload the payload
+     */
+    void send(byte[] payload);
+
+    /**
+     * Adds a receiver for payloads sent by other instances.<br>
+     * Every payload is given to every receiver, payloads start with a type byte
+     * so receivers can skip the ones they don't handle.
+     *
+     * @param receiver the receiver
+     */
+    void receiver(Consumer<byte[]> receiver);
+
+}
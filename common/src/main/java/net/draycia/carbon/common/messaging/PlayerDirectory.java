@@ -0,0 +1,592 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.messaging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.api.util.SourcedAudience;
+import net.draycia.carbon.common.command.Commander;
+import net.draycia.carbon.common.command.PlayerCommander;
+import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Keeps track of the players online on the other servers of the network, so they can
+ * be whispered to and suggested in commands.<br>
+ * Every node publishes its own players as deltas, sent once a second when something
+ * changed, and as a full snapshot every 30 seconds which also serves as a heartbeat.
+ * Nodes that stay silent for longer than three snapshots are dropped with their players.
+ * <pre>
+ * byte   type (2)
+ * long   origin node, most / least significant bits
+ * byte   operation
+ * SNAPSHOT:       int chunk, boolean last chunk, then as JOIN
+ * JOIN:           int count, per player: uuid, UTF name, boolean vanished
+ * QUIT:           int count, per player: uuid
+ * REQUEST:        nothing, every node answers with a snapshot
+ * WHISPER:        target uuid, sender uuid, sender and recipient name, message
+ * </pre>
+ * Snapshots, joins and quits are split into as many payloads as needed. A node's entries are
+ * only replaced once the last chunk of a snapshot arrived, incomplete snapshots are dropped.
+ * Whispers are sent to every node and only delivered by the one the target is on, and only
+ * if the sender is listed on the node that sent the whisper. Click events are stripped from
+ * the sender's name. Names that can't be usernames are ignored and the directory is capped,
+ * so a misbehaving node can't flood it.
+ * The proxy doesn't take part, its players already are the players of the network.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class PlayerDirectory {
+
+    static final byte TYPE_DIRECTORY = 2;
+
+    private static final byte OP_JOIN = 1;
+    private static final byte OP_QUIT = 2;
+    private static final byte OP_SNAPSHOT = 3;
+    private static final byte OP_REQUEST = 4;
+    private static final byte OP_WHISPER = 5;
+
+    private static final long PUBLISH_INTERVAL_SECONDS = 1;
+    private static final long SNAPSHOT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long NODE_TIMEOUT_MILLIS = SNAPSHOT_INTERVAL_MILLIS * 3 + TimeUnit.SECONDS.toMillis(5);
+    private static final int MAX_ENTRIES = 10_000;
+    private static final int MAX_NAME_LENGTH = 32;
+    private static final int HEADER_BYTES = 1 + 16 + 1 + 4 + 1 + 4;
+
+    private final UUID node = UUID.randomUUID();
+    private final CarbonChat carbonChat;
+    private final MessagingTransport transport;
+    private final CarbonMessageService messageService;
+    private final Logger logger;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, UUID> names = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> nodes = new ConcurrentHashMap<>();
+    private final Map<UUID, PendingSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final @Nullable ScheduledExecutorService publisher;
+
+    // Only touched by the publisher thread
+    private final Map<UUID, Entry> published = new HashMap<>();
+    private boolean announced = false;
+    // Reset when another node asks for a snapshot
+    private volatile long lastSnapshot = 0;
+
+    @Inject
+    public PlayerDirectory(
+        final CarbonChat carbonChat,
+        final MessagingTransport transport,
+        final CarbonMessageService messageService,
+        final Logger logger
+    ) {
+        this.carbonChat = carbonChat;
+        this.transport = transport;
+        this.messageService = messageService;
+        this.logger = logger;
+
+        if (!transport.hub()) {
+            transport.receiver(this::receive);
+
+            this.publisher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("CarbonChat-Directory")
+                .setDaemon(true)
+                .build());
+            this.publisher.scheduleWithFixedDelay(this::publish, PUBLISH_INTERVAL_SECONDS, PUBLISH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        } else {
+            this.publisher = null;
+        }
+    }
+
+    public void stop() {
+        if (this.publisher != null) {
+            this.publisher.shutdown();
+        }
+    }
+
+    public boolean available() {
+        return this.transport.available() && !this.transport.hub();
+    }
+
+    /**
+     * Looks up a player online on another server.
+     *
+     * @param uuid the player's uuid
+     * @return the player's entry, or null if they aren't online elsewhere
+     */
+    public @Nullable Entry remote(final UUID uuid) {
+        return this.entries.get(uuid);
+    }
+
+    /**
+     * Looks up a player online on another server.
+     *
+     * @param name the player's username, case insensitive
+     * @return the player's entry, or null if they aren't online elsewhere
+     */
+    public @Nullable Entry remote(final String name) {
+        final @Nullable UUID uuid = this.names.get(name.toLowerCase(Locale.ROOT));
+
+        return uuid == null ? null : this.entries.get(uuid);
+    }
+
+    /**
+     * Whether the sender may whisper to a player online on another server.
+     *
+     * @param sender the sender
+     * @param uuid   the target's uuid
+     * @return if the target is online elsewhere and visible to the sender
+     */
+    public boolean reachable(final CarbonPlayer sender, final UUID uuid) {
+        final @Nullable Entry entry = this.entries.get(uuid);
+
+        return entry != null && (!entry.vanished() || sender.hasPermission("carbon.whisper.vanished"));
+    }
+
+    /**
+     * The names of the players on other servers the commander can see.
+     *
+     * @param commander the commander asking for suggestions
+     * @return the player names
+     */
+    public List<String> suggestions(final Commander commander) {
+        final Collection<Entry> remote = this.entries.values();
+
+        if (remote.isEmpty()) {
+            return List.of();
+        }
+
+        final boolean seesVanished = !(commander instanceof PlayerCommander player)
+            || player.carbonPlayer().hasPermission("carbon.whisper.vanished");
+        final List<String> suggestions = new ArrayList<>(remote.size());
+
+        for (final Entry entry : remote) {
+            if (seesVanished || !entry.vanished()) {
+                suggestions.add(entry.name());
+            }
+        }
+
+        return suggestions;
+    }
+
+    /**
+     * Sends a whisper to a player online on another server.
+     *
+     * @param sender        the sender's uuid
+     * @param recipient     the recipient's uuid
+     * @param senderName    the sender's display name
+     * @param recipientName the recipient's display name
+     * @param message       the message
+     */
+    public void whisper(
+        final UUID sender,
+        final UUID recipient,
+        final Component senderName,
+        final Component recipientName,
+        final String message
+    ) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + message.length());
+            final DataOutputStream out = this.header(bytes, OP_WHISPER);
+
+            writeUuid(out, recipient);
+            writeUuid(out, sender);
+            writeString(out, GsonComponentSerializer.gson().serialize(senderName));
+            writeString(out, GsonComponentSerializer.gson().serialize(recipientName));
+            writeString(out, message);
+
+            this.transport.send(bytes.toByteArray());
+        } catch (final Exception exception) {
+            this.logger.error("Failed to send whisper to {}", recipient, exception);
+        }
+    }
+
+    private void publish() {
+        try {
+            // Plugin messaging transports need a local player to send, announce once there is one
+            if (!this.transport.available() || this.carbonChat.server().players().isEmpty()) {
+                this.announced = false;
+                return;
+            }
+
+            final long now = System.currentTimeMillis();
+            this.nodes.entrySet().removeIf(node -> {
+                if (now - node.getValue() > NODE_TIMEOUT_MILLIS) {
+                    this.snapshots.remove(node.getKey());
+                    this.forgetNode(node.getKey());
+                    return true;
+                }
+
+                return false;
+            });
+
+            final Map<UUID, Entry> current = new HashMap<>();
+
+            for (final CarbonPlayer player : this.carbonChat.server().players()) {
+                current.put(player.uuid(), new Entry(player.uuid(), player.username(), this.node, player.vanished()));
+            }
+
+            if (!this.announced || now - this.lastSnapshot >= SNAPSHOT_INTERVAL_MILLIS) {
+                this.send(this.encodeEntries(OP_SNAPSHOT, current.values()));
+
+                if (!this.announced) {
+                    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+                    this.header(bytes, OP_REQUEST);
+                    this.transport.send(bytes.toByteArray());
+                    this.announced = true;
+                }
+
+                this.lastSnapshot = now;
+            } else {
+                final List<Entry> joined = new ArrayList<>();
+                final List<Entry> quit = new ArrayList<>();
+
+                for (final Entry entry : current.values()) {
+                    if (!entry.equals(this.published.get(entry.uuid()))) {
+                        joined.add(entry);
+                    }
+                }
+
+                for (final Entry entry : this.published.values()) {
+                    if (!current.containsKey(entry.uuid())) {
+                        quit.add(entry);
+                    }
+                }
+
+                if (!joined.isEmpty()) {
+                    this.send(this.encodeEntries(OP_JOIN, joined));
+                }
+
+                if (!quit.isEmpty()) {
+                    this.send(this.encodeEntries(OP_QUIT, quit));
+                }
+            }
+
+            this.published.clear();
+            this.published.putAll(current);
+        } catch (final Exception exception) {
+            this.logger.error("Failed to publish online players", exception);
+        }
+    }
+
+    private DataOutputStream header(final ByteArrayOutputStream bytes, final byte operation) throws IOException {
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(TYPE_DIRECTORY);
+        writeUuid(out, this.node);
+        out.writeByte(operation);
+
+        return out;
+    }
+
+    private void send(final List<byte[]> payloads) {
+        for (final byte[] payload : payloads) {
+            this.transport.send(payload);
+        }
+    }
+
+    /**
+     * Encodes entries into as many payloads as needed for each to fit the transport's limit.
+     */
+    private List<byte[]> encodeEntries(final byte operation, final Collection<Entry> entries) throws IOException {
+        final List<List<byte[]>> chunks = new ArrayList<>();
+        List<byte[]> chunk = new ArrayList<>();
+        int size = HEADER_BYTES;
+
+        for (final Entry entry : entries) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            final DataOutputStream out = new DataOutputStream(bytes);
+
+            writeUuid(out, entry.uuid());
+
+            if (operation != OP_QUIT) {
+                out.writeUTF(entry.name());
+                out.writeBoolean(entry.vanished());
+            }
+
+            if (!chunk.isEmpty() && size + bytes.size() > MessagingTransport.MAX_PAYLOAD_BYTES) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                size = HEADER_BYTES;
+            }
+
+            chunk.add(bytes.toByteArray());
+            size += bytes.size();
+        }
+
+        // Snapshots are sent even if empty, they clear the node's entries
+        if (!chunk.isEmpty() || chunks.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        final List<byte[]> payloads = new ArrayList<>(chunks.size());
+
+        for (int i = 0; i < chunks.size(); i++) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(MessagingTransport.MAX_PAYLOAD_BYTES);
+            final DataOutputStream out = this.header(bytes, operation);
+
+            if (operation == OP_SNAPSHOT) {
+                out.writeInt(i);
+                out.writeBoolean(i == chunks.size() - 1);
+            }
+
+            out.writeInt(chunks.get(i).size());
+
+            for (final byte[] entry : chunks.get(i)) {
+                out.write(entry);
+            }
+
+            payloads.add(bytes.toByteArray());
+        }
+
+        return payloads;
+    }
+
+    private void receive(final byte[] payload) {
+        if (payload.length == 0 || payload[0] != TYPE_DIRECTORY) {
+            return;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            in.readByte();
+
+            final UUID origin = readUuid(in);
+
+            if (origin.equals(this.node)) {
+                return;
+            }
+
+            this.nodes.put(origin, System.currentTimeMillis());
+
+            switch (in.readByte()) {
+                case OP_SNAPSHOT -> this.readSnapshot(in, origin);
+                case OP_JOIN -> this.add(this.readEntries(in, origin));
+                case OP_QUIT -> {
+                    final int count = in.readInt();
+
+                    for (int i = 0; i < count; i++) {
+                        final @Nullable Entry entry = this.entries.get(readUuid(in));
+
+                        if (entry != null && entry.node().equals(origin)) {
+                            this.remove(entry);
+                        }
+                    }
+                }
+                case OP_REQUEST -> this.lastSnapshot = 0;
+                case OP_WHISPER -> this.deliverWhisper(in, origin);
+                default -> {
+                }
+            }
+        } catch (final Exception exception) {
+            this.logger.error("Failed to read online players", exception);
+        }
+    }
+
+    private void readSnapshot(final DataInputStream in, final UUID origin) throws IOException {
+        final int chunk = in.readInt();
+        final boolean last = in.readBoolean();
+        final List<Entry> read = this.readEntries(in, origin);
+        final @Nullable PendingSnapshot pending = this.snapshots.remove(origin);
+        final List<Entry> snapshot;
+
+        if (chunk == 0) {
+            snapshot = read;
+        } else if (pending != null && pending.next() == chunk) {
+            snapshot = pending.entries();
+            snapshot.addAll(read);
+        } else {
+            // A chunk went missing, keep the current entries until the next snapshot
+            return;
+        }
+
+        if (last) {
+            this.forgetNode(origin);
+            this.add(snapshot);
+        } else if (snapshot.size() <= MAX_ENTRIES) {
+            this.snapshots.put(origin, new PendingSnapshot(chunk + 1, snapshot));
+        }
+    }
+
+    private List<Entry> readEntries(final DataInputStream in, final UUID origin) throws IOException {
+        final int count = in.readInt();
+        final List<Entry> read = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            final Entry entry = new Entry(readUuid(in), in.readUTF(), origin, in.readBoolean());
+
+            if (validName(entry.name())) {
+                read.add(entry);
+            }
+        }
+
+        return read;
+    }
+
+    private void add(final List<Entry> read) {
+        for (final Entry entry : read) {
+            if (this.entries.size() >= MAX_ENTRIES && !this.entries.containsKey(entry.uuid())) {
+                continue;
+            }
+
+            final @Nullable Entry previous = this.entries.put(entry.uuid(), entry);
+
+            if (previous != null && !previous.name().equalsIgnoreCase(entry.name())) {
+                this.names.remove(previous.name().toLowerCase(Locale.ROOT), previous.uuid());
+            }
+
+            this.names.put(entry.name().toLowerCase(Locale.ROOT), entry.uuid());
+        }
+    }
+
+    private void deliverWhisper(final DataInputStream in, final UUID origin) throws IOException {
+        final UUID target = readUuid(in);
+        final UUID sender = readUuid(in);
+        final Component senderName = stripClicks(GsonComponentSerializer.gson().deserialize(readString(in)));
+        final Component recipientName = stripClicks(GsonComponentSerializer.gson().deserialize(readString(in)));
+        final String message = readString(in);
+        final @Nullable Entry senderEntry = this.entries.get(sender);
+
+        if (senderEntry == null || !senderEntry.node().equals(origin)) {
+            return;
+        }
+
+        for (final CarbonPlayer player : this.carbonChat.server().players()) {
+            if (!player.uuid().equals(target)) {
+                continue;
+            }
+
+            if (player instanceof WrappedCarbonPlayer wrapped && wrapped.carbonPlayerCommon().ignoring(sender)) {
+                return;
+            }
+
+            this.messageService.whisperRecipient(new SourcedAudience(Audience.empty(), player), senderName, recipientName, message);
+            player.whisperReplyTarget(sender);
+            return;
+        }
+    }
+
+    private static boolean validName(final String name) {
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            if (Character.isWhitespace(name.charAt(i)) || Character.isISOControl(name.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static Component stripClicks(final Component component) {
+        final List<Component> children = new ArrayList<>(component.children().size());
+
+        for (final Component child : component.children()) {
+            children.add(stripClicks(child));
+        }
+
+        return component.clickEvent(null).insertion(null).children(children);
+    }
+
+    private void forgetNode(final UUID node) {
+        for (final Entry entry : this.entries.values()) {
+            if (entry.node().equals(node)) {
+                this.remove(entry);
+            }
+        }
+    }
+
+    private void remove(final Entry entry) {
+        if (this.entries.remove(entry.uuid(), entry)) {
+            this.names.remove(entry.name().toLowerCase(Locale.ROOT), entry.uuid());
+        }
+    }
+
+    private static void writeUuid(final DataOutputStream out, final UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final int length = in.readInt();
+
+        if (length < 0 || length > in.available()) {
+            throw new IOException("String length " + length + " exceeds the payload");
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A player online on another server.
+     *
+     * @param uuid     the player's uuid
+     * @param name     the player's username
+     * @param node     the node the player is on
+     * @param vanished if the player is vanished
+     */
+    public record Entry(UUID uuid, String name, UUID node, boolean vanished) {
+
+    }
+
+    private record PendingSnapshot(int next, List<Entry> entries) {
+
+    }
+
+}
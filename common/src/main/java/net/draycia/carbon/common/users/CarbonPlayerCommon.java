@@ -64,6 +64,10 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     // Punishments
     protected List<UUID> ignoredPlayers = new ArrayList<>();
 
+    // Network sync
+    protected transient long[] stateVersions = new long[PlayerStateSync.Field.values().length];
+    protected transient @Nullable PlayerStateSync stateSync = null;
+
     public CarbonPlayerCommon(
         final String username,
         final UUID uuid
@@ -85,6 +89,16 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
         return this;
     }
 
+    public void stateSync(final @Nullable PlayerStateSync stateSync) {
+        this.stateSync = stateSync;
+    }
+
+    protected void changed(final PlayerStateSync.Field field) {
+        if (this.stateSync != null) {
+            this.stateSync.changed(this, field);
+        }
+    }
+
     @Override
     public @Nullable Component createItemHoverComponent(final InventorySlot slot) {
         return null;
@@ -102,6 +116,7 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     @Override
     public void displayName(final @Nullable Component displayName) {
         this.displayName = displayName;
+        this.changed(PlayerStateSync.Field.DISPLAY_NAME);
     }
 
     @Override
@@ -127,6 +142,7 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     @Override
     public void muted(final boolean muted) {
         this.muted = muted;
+        this.changed(PlayerStateSync.Field.MUTED);
     }
 
     @Override
@@ -134,6 +150,10 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
         return this.ignoredPlayers.contains(sender.uuid());
     }
 
+    public boolean ignoring(final UUID sender) {
+        return this.ignoredPlayers.contains(sender);
+    }
+
     @Override
     public void ignoring(final CarbonPlayer player, final boolean nowIgnoring) {
         if (nowIgnoring) {
@@ -143,6 +163,8 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
         } else {
             this.ignoredPlayers.remove(player.uuid());
         }
+
+        this.changed(PlayerStateSync.Field.IGNORED_PLAYERS);
     }
 
     @Override
@@ -153,6 +175,7 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     @Override
     public void deafened(final boolean deafened) {
         this.deafened = deafened;
+        this.changed(PlayerStateSync.Field.DEAFENED);
     }
 
     @Override
@@ -163,6 +186,7 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     @Override
     public void spying(final boolean spying) {
         this.spying = spying;
+        this.changed(PlayerStateSync.Field.SPYING);
     }
 
     @Override
@@ -228,6 +252,7 @@ public class CarbonPlayerCommon implements CarbonPlayer, ForwardingAudience.Sing
     @Override
     public void selectedChannel(final @Nullable ChatChannel chatChannel) {
         this.selectedChannel = chatChannel.key();
+        this.changed(PlayerStateSync.Field.SELECTED_CHANNEL);
     }
 
     @Override
@@ -57,6 +57,7 @@ public class JSONUserManager implements UserManager<CarbonPlayerCommon> {
     private final Gson serializer;
     private final Path userDirectory;
     private final CarbonChat carbonChat;
+    private final PlayerStateSync stateSync;
 
     private final Map<UUID, CarbonPlayerCommon> userCache = Collections.synchronizedMap(new HashMap<>());
 
@@ -65,11 +66,14 @@ public class JSONUserManager implements UserManager<CarbonPlayerCommon> {
         final @ForCarbon Path dataDirectory,
         final Injector injector,
         final Logger logger,
-        final CarbonChat carbonChat
+        final CarbonChat carbonChat,
+        final PlayerStateSync stateSync
     ) throws IOException {
         this.logger = logger;
         this.userDirectory = dataDirectory.resolve("users");
         this.carbonChat = carbonChat;
+        this.stateSync = stateSync;
+        this.stateSync.cache(this.userCache::get);
 
         Files.createDirectories(this.userDirectory);
 
@@ -101,6 +105,7 @@ public class JSONUserManager implements UserManager<CarbonPlayerCommon> {
                         return new ComponentPlayerResult<CarbonPlayerCommon>(null, text("Player file found but was empty."));
                     }
 
+                    player.stateSync(this.stateSync);
                     this.userCache.put(uuid, player);
 
                     return new ComponentPlayerResult<>(player, empty());
@@ -114,6 +119,7 @@ public class JSONUserManager implements UserManager<CarbonPlayerCommon> {
 
             final CarbonPlayerCommon player = new CarbonPlayerCommon(name, uuid);
 
+            player.stateSync(this.stateSync);
             this.userCache.put(uuid, player);
 
             return new ComponentPlayerResult<>(player, empty());
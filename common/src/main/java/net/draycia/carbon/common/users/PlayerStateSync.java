@@ -0,0 +1,452 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.users;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.common.messaging.MessagingTransport;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Keeps the cached {@link CarbonPlayerCommon players} of every node of the network in sync.<br>
+ * Each synced {@link Field} carries a version, a millisecond clock with the writing node
+ * in the low bits, so concurrent changes on different nodes resolve to the same value
+ * everywhere (last writer wins). Local changes are published as per-field deltas:
+ * <pre>
+ * byte   type (3)
+ * long   origin node, most / least significant bits
+ * byte   operation
+ * DELTA, FULL: int player count, per player:
+ *   uuid, byte field count, per field: byte field, long version, value
+ * REQUEST:     nothing, every node answers with the full state of its online players,
+ *              split over as many FULL payloads as needed
+ * </pre>
+ * Nodes request a full resync whenever their transport (re)connects, and repeat the request
+ * until another node answers with its players' states.
+ * Deltas for players that aren't cached are dropped, they're loaded from storage when needed.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class PlayerStateSync {
+
+    static final byte TYPE_STATE = 3;
+
+    private static final byte OP_DELTA = 1;
+    private static final byte OP_FULL = 2;
+    private static final byte OP_REQUEST = 3;
+
+    private static final int HEADER_BYTES = 1 + 16 + 1 + 4;
+    private static final long CONNECTION_CHECK_SECONDS = 5;
+    private static final int MAX_RESYNC_REQUESTS = 12;
+    private static final Field[] FIELDS = Field.values();
+
+    private final UUID node = UUID.randomUUID();
+    private final long nodeBits = this.node.getLeastSignificantBits() & 0xFFFF;
+    private final CarbonChat carbonChat;
+    private final MessagingTransport transport;
+    private final Logger logger;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+        .setNameFormat("CarbonChat-StateSync")
+        .setDaemon(true)
+        .build());
+    private volatile Function<UUID, @Nullable CarbonPlayerCommon> cache = uuid -> null;
+    private boolean connected = false;
+    private volatile int resyncRequests = 0;
+
+    @Inject
+    public PlayerStateSync(
+        final CarbonChat carbonChat,
+        final MessagingTransport transport,
+        final Logger logger
+    ) {
+        this.carbonChat = carbonChat;
+        this.transport = transport;
+        this.logger = logger;
+
+        transport.receiver(this::receive);
+        this.executor.scheduleWithFixedDelay(this::checkConnection, CONNECTION_CHECK_SECONDS, CONNECTION_CHECK_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void stop() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * Sets where remote changes are applied to.
+     *
+     * @param cache looks up cached players, returns null if the player isn't cached
+     */
+    public void cache(final Function<UUID, @Nullable CarbonPlayerCommon> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Versions and publishes a local change of a player's field.
+     *
+     * @param player the player that was changed
+     * @param field  the field that was changed
+     */
+    void changed(final CarbonPlayerCommon player, final Field field) {
+        synchronized (player) {
+            player.stateVersions[field.ordinal()] = this.nextVersion(player.stateVersions[field.ordinal()]);
+        }
+
+        if (!this.transport.available()) {
+            return;
+        }
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            final DataOutputStream out = this.header(bytes, OP_DELTA);
+
+            out.writeInt(1);
+            writeUuid(out, player.uuid());
+            out.writeByte(1);
+            writeField(out, player, field);
+
+            this.transport.send(bytes.toByteArray());
+        } catch (final Exception exception) {
+            this.logger.error("Failed to publish {} of player {}", field, player.uuid(), exception);
+        }
+    }
+
+    private long nextVersion(final long current) {
+        final long clock = System.currentTimeMillis() << 16 | this.nodeBits;
+
+        return clock > current ? clock : ((current >>> 16) + 1) << 16 | this.nodeBits;
+    }
+
+    private void checkConnection() {
+        final boolean available = this.transport.available();
+
+        if (available && !this.connected) {
+            this.resyncRequests = MAX_RESYNC_REQUESTS;
+        }
+
+        this.connected = available;
+
+        // Nobody may answer yet, e.g. while the other servers are empty, so keep asking for a while.
+        // Plugin messaging transports need a local player to send at all, so don't spend requests before that
+        if (available && this.resyncRequests > 0 && !this.carbonChat.server().players().isEmpty()) {
+            this.resyncRequests--;
+
+            try {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+                this.header(bytes, OP_REQUEST);
+                this.transport.send(bytes.toByteArray());
+            } catch (final Exception exception) {
+                this.logger.error("Failed to request player states", exception);
+            }
+        }
+    }
+
+    private void sendFull() throws IOException {
+        final List<CarbonPlayerCommon> players = new ArrayList<>();
+
+        for (final CarbonPlayer player : this.carbonChat.server().players()) {
+            if (player instanceof WrappedCarbonPlayer wrapped) {
+                players.add(wrapped.carbonPlayerCommon());
+            }
+        }
+
+        if (players.isEmpty()) {
+            return;
+        }
+
+        final List<byte[]> states = new ArrayList<>(players.size());
+
+        for (final CarbonPlayerCommon player : players) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            final DataOutputStream out = new DataOutputStream(bytes);
+
+            writeUuid(out, player.uuid());
+            out.writeByte(FIELDS.length);
+
+            for (final Field field : FIELDS) {
+                writeField(out, player, field);
+            }
+
+            if (HEADER_BYTES + bytes.size() > MessagingTransport.MAX_PAYLOAD_BYTES) {
+                this.logger.warn("Not syncing the state of player {}, it doesn't fit into a single payload", player.uuid());
+                continue;
+            }
+
+            states.add(bytes.toByteArray());
+        }
+
+        for (final List<byte[]> envelope : split(states)) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(MessagingTransport.MAX_PAYLOAD_BYTES);
+            final DataOutputStream out = this.header(bytes, OP_FULL);
+
+            out.writeInt(envelope.size());
+
+            for (final byte[] state : envelope) {
+                out.write(state);
+            }
+
+            this.transport.send(bytes.toByteArray());
+        }
+    }
+
+    /**
+     * Groups encoded player states into envelopes that each fit into a single payload.
+     */
+    private static List<List<byte[]>> split(final List<byte[]> states) {
+        final List<List<byte[]>> envelopes = new ArrayList<>();
+        List<byte[]> envelope = new ArrayList<>();
+        int size = HEADER_BYTES;
+
+        for (final byte[] state : states) {
+            if (!envelope.isEmpty() && size + state.length > MessagingTransport.MAX_PAYLOAD_BYTES) {
+                envelopes.add(envelope);
+                envelope = new ArrayList<>();
+                size = HEADER_BYTES;
+            }
+
+            envelope.add(state);
+            size += state.length;
+        }
+
+        if (!envelope.isEmpty()) {
+            envelopes.add(envelope);
+        }
+
+        return envelopes;
+    }
+
+    private DataOutputStream header(final ByteArrayOutputStream bytes, final byte operation) throws IOException {
+        final DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeByte(TYPE_STATE);
+        writeUuid(out, this.node);
+        out.writeByte(operation);
+
+        return out;
+    }
+
+    private void receive(final byte[] payload) {
+        if (payload.length == 0 || payload[0] != TYPE_STATE) {
+            return;
+        }
+
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            in.readByte();
+
+            if (readUuid(in).equals(this.node)) {
+                return;
+            }
+
+            final byte operation = in.readByte();
+
+            if (operation == OP_REQUEST) {
+                this.sendFull();
+                return;
+            } else if (operation == OP_FULL) {
+                this.resyncRequests = 0;
+            }
+
+            final int players = in.readInt();
+
+            // At least a uuid and a field count per player
+            if (players < 0 || players > in.available() / 17) {
+                this.logger.warn("Dropped malformed player states");
+                return;
+            }
+
+            for (int i = 0; i < players; i++) {
+                final @Nullable CarbonPlayerCommon player = this.cache.apply(readUuid(in));
+                final int fields = in.readByte();
+
+                for (int j = 0; j < fields; j++) {
+                    readField(in, player);
+                }
+            }
+        } catch (final MalformedStateException exception) {
+            this.logger.warn("Dropped malformed player states: {}", exception.getMessage());
+        } catch (final Exception exception) {
+            this.logger.error("Failed to read player states", exception);
+        }
+    }
+
+    private static void writeField(final DataOutputStream out, final CarbonPlayerCommon player, final Field field) throws IOException {
+        synchronized (player) {
+            out.writeByte(field.ordinal());
+            out.writeLong(player.stateVersions[field.ordinal()]);
+
+            switch (field) {
+                case MUTED -> out.writeBoolean(player.muted);
+                case DEAFENED -> out.writeBoolean(player.deafened);
+                case SPYING -> out.writeBoolean(player.spying);
+                case DISPLAY_NAME -> writeNullable(out, player.displayName == null ? null : GsonComponentSerializer.gson().serialize(player.displayName));
+                case SELECTED_CHANNEL -> writeNullable(out, player.selectedChannel == null ? null : player.selectedChannel.asString());
+                case IGNORED_PLAYERS -> {
+                    out.writeInt(player.ignoredPlayers.size());
+
+                    for (final UUID ignored : player.ignoredPlayers) {
+                        writeUuid(out, ignored);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a field and applies it if it's newer than the player's, the field is
+     * read and dropped when the player is null.
+     */
+    private static void readField(final DataInputStream in, final @Nullable CarbonPlayerCommon player) throws IOException {
+        final int id = in.readByte();
+
+        if (id < 0 || id >= FIELDS.length) {
+            throw new MalformedStateException("unknown field " + id);
+        }
+
+        final Field field = FIELDS[id];
+        final long version = in.readLong();
+        final @Nullable Object value = switch (field) {
+            case MUTED, DEAFENED, SPYING -> in.readBoolean();
+            case DISPLAY_NAME, SELECTED_CHANNEL -> readNullable(in);
+            case IGNORED_PLAYERS -> {
+                final int count = in.readInt();
+
+                if (count < 0 || count > in.available() / 16) {
+                    throw new MalformedStateException("invalid ignored player count " + count);
+                }
+
+                final List<UUID> ignored = new ArrayList<>(count);
+
+                for (int i = 0; i < count; i++) {
+                    ignored.add(readUuid(in));
+                }
+
+                yield ignored;
+            }
+        };
+
+        if (player == null) {
+            return;
+        }
+
+        synchronized (player) {
+            if (version <= player.stateVersions[field.ordinal()]) {
+                return;
+            }
+
+            player.stateVersions[field.ordinal()] = version;
+
+            switch (field) {
+                case MUTED -> player.muted = (Boolean) value;
+                case DEAFENED -> player.deafened = (Boolean) value;
+                case SPYING -> player.spying = (Boolean) value;
+                case DISPLAY_NAME -> player.displayName = value == null ? null : GsonComponentSerializer.gson().deserialize((String) value);
+                case SELECTED_CHANNEL -> player.selectedChannel = value == null ? null : Key.key((String) value);
+                case IGNORED_PLAYERS -> {
+                    @SuppressWarnings("unchecked")
+                    final List<UUID> ignored = (List<UUID>) value;
+                    player.ignoredPlayers = ignored;
+                }
+            }
+        }
+    }
+
+    private static void writeNullable(final DataOutputStream out, final @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+
+        if (value != null) {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static @Nullable String readNullable(final DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+
+        final int length = in.readInt();
+
+        if (length < 0 || length > in.available()) {
+            throw new MalformedStateException("invalid string length " + length);
+        }
+
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeUuid(final DataOutputStream out, final UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(final DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Thrown when a received payload contains sizes or fields that can't be valid.
+     */
+    private static final class MalformedStateException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        MalformedStateException(final String message) {
+            super(message);
+        }
+
+    }
+
+    /**
+     * The fields of a player that are synced between nodes.<br>
+     * The ordinal is sent over the wire, new fields must be added at the end.
+     */
+    public enum Field {
+        MUTED,
+        DEAFENED,
+        SPYING,
+        DISPLAY_NAME,
+        IGNORED_PLAYERS,
+        SELECTED_CHANNEL
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+import static net.kyori.adventure.text.Component.text;
+
+/**
+ * Turns URLs in chat messages into clickable links.<br>
+ * Matches the same text as {@code (?:(https?)://)?([-\w_.]+\.\w{2,})(/\S*)?}, but scans
+ * each text component once instead of running a backtracking regex over it.
+ */
+@DefaultQualifier(NonNull.class)
+public final class LinkUtils {
+
+    private LinkUtils() {
+    }
+
+    /**
+     * Creates a component from the plain message with all URLs made clickable.
+     *
+     * @param message the plain message
+     * @return the linkified component
+     */
+    public static Component linkify(final String message) {
+        if (!mayContainLink(message)) {
+            return text(message);
+        }
+
+        final List<Span> links = findLinks(message);
+
+        if (links.isEmpty()) {
+            return text(message);
+        }
+
+        return linkify(text(message), links);
+    }
+
+    /**
+     * Makes all URLs in the component's text clickable.<br>
+     * Components without links are returned as-is.
+     *
+     * @param message the message
+     * @return the linkified component
+     */
+    public static Component linkify(final Component message) {
+        final List<Component> children = message.children();
+        List<Component> newChildren = children;
+
+        for (int i = 0; i < children.size(); i++) {
+            final Component child = children.get(i);
+            final Component linkified = linkify(child);
+
+            if (linkified != child) {
+                if (newChildren == children) {
+                    newChildren = new ArrayList<>(children);
+                }
+
+                newChildren.set(i, linkified);
+            }
+        }
+
+        Component result = message;
+
+        if (newChildren != children) {
+            result = result.children(newChildren);
+        }
+
+        if (result instanceof TextComponent textComponent && mayContainLink(textComponent.content())) {
+            final List<Span> links = findLinks(textComponent.content());
+
+            if (!links.isEmpty()) {
+                result = linkify(textComponent, links);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Cheap precheck, a link always contains at least one dot.
+     *
+     * @param text the text to check
+     * @return false if the text can't contain any link
+     */
+    public static boolean mayContainLink(final String text) {
+        return text.indexOf('.') != -1;
+    }
+
+    private static Component linkify(final TextComponent component, final List<Span> links) {
+        final String content = component.content();
+        final List<Component> children = new ArrayList<>(links.size() * 2 + component.children().size());
+        int last = links.get(0).end();
+
+        children.add(link(content.substring(links.get(0).start(), last)));
+
+        for (int i = 1; i < links.size(); i++) {
+            final Span link = links.get(i);
+
+            if (link.start() > last) {
+                children.add(text(content.substring(last, link.start())));
+            }
+
+            children.add(link(content.substring(link.start(), link.end())));
+            last = link.end();
+        }
+
+        if (last < content.length()) {
+            children.add(text(content.substring(last)));
+        }
+
+        children.addAll(component.children());
+
+        return component.content(content.substring(0, links.get(0).start())).children(children);
+    }
+
+    private static Component link(final String url) {
+        return text(url).clickEvent(ClickEvent.openUrl(url));
+    }
+
+    static List<Span> findLinks(final String text) {
+        final List<Span> links = new ArrayList<>(2);
+        final int length = text.length();
+        int index = 0;
+
+        while (index < length) {
+            final int hostStart = schemeEnd(text, index);
+            final int hostEnd = hostEnd(text, hostStart);
+
+            if (hostEnd != -1) {
+                int end = hostEnd;
+
+                if (end < length && text.charAt(end) == '/') {
+                    while (end < length && !isWhitespace(text.charAt(end))) {
+                        end++;
+                    }
+                }
+
+                links.add(new Span(index, end));
+                index = end;
+                continue;
+            }
+
+            if (hostStart != index || !isHostChar(text.charAt(index))) {
+                index++;
+                continue;
+            }
+
+            // No later start within the same run of host characters can match either,
+            // unless the run ends in a scheme like "xhttps://"
+            int runEnd = index;
+
+            while (runEnd < length && isHostChar(text.charAt(runEnd))) {
+                runEnd++;
+            }
+
+            index = Math.max(index + 1, schemeStartBefore(text, index, runEnd));
+        }
+
+        return links;
+    }
+
+    private static int schemeEnd(final String text, final int index) {
+        if (text.startsWith("https://", index)) {
+            return index + 8;
+        } else if (text.startsWith("http://", index)) {
+            return index + 7;
+        }
+
+        return index;
+    }
+
+    private static int schemeStartBefore(final String text, final int runStart, final int runEnd) {
+        if (!text.startsWith("://", runEnd)) {
+            return runEnd;
+        }
+
+        if (runEnd - 5 >= runStart && text.startsWith("https", runEnd - 5)) {
+            return runEnd - 5;
+        } else if (runEnd - 4 >= runStart && text.startsWith("http", runEnd - 4)) {
+            return runEnd - 4;
+        }
+
+        return runEnd;
+    }
+
+    /**
+     * Finds the end of the host starting at the given index, behaving like the greedy
+     * {@code [-\w_.]+\.\w{2,}}: the last dot in the run that's followed by at least
+     * two word characters ends the host after those word characters.
+     */
+    private static int hostEnd(final String text, final int start) {
+        final int length = text.length();
+        int runEnd = start;
+
+        while (runEnd < length && isHostChar(text.charAt(runEnd))) {
+            runEnd++;
+        }
+
+        for (int dot = runEnd - 1; dot > start; dot--) {
+            if (text.charAt(dot) != '.') {
+                continue;
+            }
+
+            int end = dot + 1;
+
+            while (end < runEnd && isWordChar(text.charAt(end))) {
+                end++;
+            }
+
+            if (end - dot > 2) {
+                return end;
+            }
+        }
+
+        return -1;
+    }
+
+    private static boolean isWordChar(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isHostChar(final char c) {
+        return isWordChar(c) || c == '-' || c == '.';
+    }
+
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    record Span(int start, int end) {
+
+    }
+
+}
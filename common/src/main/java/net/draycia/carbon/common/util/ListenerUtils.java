@@ -21,7 +21,11 @@ package net.draycia.carbon.common.util;
 
 import com.google.inject.Injector;
 import java.util.List;
+import net.draycia.carbon.common.listeners.ChatHistoryHandler;
+import net.draycia.carbon.common.listeners.ChatRelayHandler;
 import net.draycia.carbon.common.listeners.DeafenHandler;
+import net.draycia.carbon.common.listeners.EventTimingsHandler;
+import net.draycia.carbon.common.listeners.GroupChangeHandler;
 import net.draycia.carbon.common.listeners.IgnoreHandler;
 import net.draycia.carbon.common.listeners.ItemLinkHandler;
 import net.draycia.carbon.common.listeners.MuteHandler;
@@ -33,8 +37,9 @@ public final class ListenerUtils {
 
     }
 
-    public static final List<Class<?>> LISTENER_CLASSES = List.of(DeafenHandler.class, IgnoreHandler.class,
-        ItemLinkHandler.class, MuteHandler.class, PingHandler.class);
+    public static final List<Class<?>> LISTENER_CLASSES = List.of(ChatHistoryHandler.class, ChatRelayHandler.class,
+        DeafenHandler.class, EventTimingsHandler.class, GroupChangeHandler.class, IgnoreHandler.class, ItemLinkHandler.class,
+        MuteHandler.class, PingHandler.class);
 
     public static void registerCommonListeners(final Injector injector) {
         for (final var listenerClass : LISTENER_CLASSES) {
@@ -19,13 +19,18 @@
  */
 package net.draycia.carbon.common.util;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import net.draycia.carbon.api.CarbonServer;
+import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.users.ComponentPlayerResult;
 import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
 import net.draycia.carbon.common.users.WrappedCarbonPlayer;
+import net.kyori.adventure.audience.Audience;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
@@ -88,4 +93,23 @@ public final class PlayerUtils {
         return saveResult;
     }
 
+    /**
+     * Indexes the players among the recipients by UUID, so renderers can map platform
+     * viewers back to their {@link CarbonPlayer} without looking them up again.
+     *
+     * @param recipients the message recipients
+     * @return the recipients that are players, keyed by UUID
+     */
+    public static Map<UUID, CarbonPlayer> recipientPlayers(final List<? extends Audience> recipients) {
+        final Map<UUID, CarbonPlayer> players = new HashMap<>(recipients.size() * 2);
+
+        for (final Audience recipient : recipients) {
+            if (recipient instanceof CarbonPlayer player) {
+                players.put(player.uuid(), player);
+            }
+        }
+
+        return players;
+    }
+
 }
@@ -0,0 +1,103 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.common.util;
+
+import java.util.List;
+import net.draycia.carbon.api.users.CarbonPlayer;
+import net.draycia.carbon.api.util.KeyedRenderer;
+import net.draycia.carbon.api.util.RenderedMessage;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * The renderers of a chat message, captured once so every recipient is rendered without
+ * iterating the event's list or wrapping the message between renderers that keep its type.<br>
+ * Renderers that don't {@link KeyedRenderer#appliesTo(Audience) apply} to a recipient are skipped.
+ */
+@DefaultQualifier(NonNull.class)
+public final class RendererChain {
+
+    private final KeyedRenderer[] renderers;
+
+    private RendererChain(final KeyedRenderer[] renderers) {
+        this.renderers = renderers;
+    }
+
+    public static RendererChain of(final List<KeyedRenderer> renderers) {
+        return new RendererChain(renderers.toArray(new KeyedRenderer[0]));
+    }
+
+    public Component renderComponent(
+        final CarbonPlayer sender,
+        final Audience recipient,
+        final Component message,
+        final Component originalMessage
+    ) {
+        Component component = message;
+
+        for (final KeyedRenderer renderer : this.renderers) {
+            try {
+                if (!renderer.appliesTo(recipient)) {
+                    continue;
+                }
+
+                component = renderer.renderComponent(sender, recipient, component, originalMessage);
+            } catch (final Exception exception) {
+                exception.printStackTrace();
+            }
+        }
+
+        return component;
+    }
+
+    public RenderedMessage render(
+        final CarbonPlayer sender,
+        final Audience recipient,
+        final Component message,
+        final Component originalMessage
+    ) {
+        Component component = message;
+        MessageType messageType = MessageType.CHAT;
+
+        for (final KeyedRenderer renderer : this.renderers) {
+            try {
+                if (!renderer.appliesTo(recipient)) {
+                    continue;
+                }
+
+                if (renderer.preservesMessageType()) {
+                    component = renderer.renderComponent(sender, recipient, component, originalMessage);
+                } else {
+                    final RenderedMessage rendered = renderer.render(sender, recipient, component, originalMessage);
+                    component = rendered.component();
+                    messageType = rendered.messageType();
+                }
+            } catch (final Exception exception) {
+                exception.printStackTrace();
+            }
+        }
+
+        return new RenderedMessage(component, messageType);
+    }
+
+}
@@ -32,8 +32,13 @@ import net.draycia.carbon.api.events.CarbonEventHandler;
 import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.channels.ChannelFileWatcher;
+import net.draycia.carbon.common.channels.ChatHistory;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.ChatRelay;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PlayerStateSync;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.draycia.carbon.common.util.ListenerUtils;
 import net.draycia.carbon.common.util.PlayerUtils;
@@ -109,17 +114,37 @@ public final class CarbonChatFabric implements ModInitializer, CarbonChat {
 
     private void registerChatListener() {
         ChatCallback.setup();
-        ChatCallback.INSTANCE.registerListener(new FabricChatListener(this, this.channelRegistry));
+        ChatCallback.INSTANCE.registerListener(new FabricChatListener(this, (CarbonChannelRegistry) this.channelRegistry));
     }
 
     private void registerServerLifecycleListeners() {
         ServerLifecycleEvents.SERVER_STARTING.register(server -> this.minecraftServer = server);
-        ServerLifecycleEvents.SERVER_STOPPING.register($ -> PlayerUtils.saveLoggedInPlayers(this.carbonServerFabric, this.userManager).forEach(CompletableFuture::join));
+        ServerLifecycleEvents.SERVER_STOPPING.register($ -> {
+            this.injector.getInstance(ChannelFileWatcher.class).stop();
+            this.injector.getInstance(ChatRelay.class).stop();
+            this.injector.getInstance(PlayerDirectory.class).stop();
+            this.injector.getInstance(PlayerStateSync.class).stop();
+            this.eventHandler.shutdown();
+            PlayerUtils.saveLoggedInPlayers(this.carbonServerFabric, this.userManager).forEach(CompletableFuture::join);
+        });
         ServerLifecycleEvents.SERVER_STOPPED.register(server -> this.minecraftServer = null);
     }
 
     private void registerPlayerStatusListeners() {
         PlayerStatusMessageEvents.QUIT_MESSAGE.register(this.injector.getInstance(FabricPlayerLeaveListener.class));
+
+        final ChatHistory chatHistory = this.injector.getInstance(ChatHistory.class);
+        PlayerStatusMessageEvents.JOIN_MESSAGE.register(event -> {
+            if (!chatHistory.settings().enabled() || !chatHistory.settings().replayOnJoin()) {
+                return;
+            }
+
+            this.carbonServerFabric.player(event.player().getUUID()).thenAccept(result -> {
+                if (result.player() != null) {
+                    chatHistory.replaySelected(result.player());
+                }
+            });
+        });
     }
 
     private void registerTickListeners() {
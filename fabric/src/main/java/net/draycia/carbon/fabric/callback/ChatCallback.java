@@ -19,22 +19,22 @@
  */
 package net.draycia.carbon.fabric.callback;
 
+import com.google.common.collect.MapMaker;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.kyori.adventure.audience.Audience;
-import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.platform.fabric.FabricServerAudiences;
 import net.kyori.adventure.text.Component;
+import net.minecraft.network.chat.ChatType;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.util.thread.NamedThreadFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -52,28 +52,28 @@ public enum ChatCallback {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
-    private @Nullable ExecutorService chatExecutor;
+    private static final int STRIPES = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+    private static final int QUEUE_CAPACITY = 512;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private @Nullable StripedChatExecutor chatExecutor;
     private final List<Consumer<Chat>> listeners = new CopyOnWriteArrayList<>();
+    // Weak keys, players are recreated on respawn and dropped on disconnect
+    private final Map<ServerPlayer, Audience> audiences = new MapMaker().weakKeys().makeMap();
 
     private void initExecutor() {
-        this.chatExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory("CarbonChat-Chat-Thread"));
+        this.chatExecutor = new StripedChatExecutor(STRIPES, QUEUE_CAPACITY);
     }
 
     private void shutdownExecutor() {
-        final @Nullable ExecutorService executor = this.chatExecutor;
+        final @Nullable StripedChatExecutor executor = this.chatExecutor;
         if (executor == null) {
             LOGGER.warn("Tried to shutdown null executor!");
             return;
         }
         this.chatExecutor = null;
-        executor.shutdown();
-        try {
-            if (!executor.awaitTermination(25L, TimeUnit.MILLISECONDS)) {
-                throw new RuntimeException("Timeout elapsed before tasks completed");
-            }
-        } catch (final InterruptedException | RuntimeException ex) {
-            LOGGER.warn("Failed to shutdown chat executor", ex);
-        }
+        executor.shutdown(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        this.audiences.clear();
     }
 
     public void registerListener(final Consumer<Chat> listener) {
@@ -81,14 +81,26 @@ public enum ChatCallback {
     }
 
     public void fireAsync(final MinecraftServer server, final ServerPlayer sender, final String chat) {
-        final @Nullable ExecutorService executor = this.chatExecutor;
+        final @Nullable StripedChatExecutor executor = this.chatExecutor;
         if (executor != null) {
-            this.chatExecutor.execute(() -> this.fire(server, sender, chat));
+            if (!executor.execute(sender.getUUID(), () -> this.fire(server, sender, chat))) {
+                LOGGER.warn("Chat queue is full, dropped message from player '{}'", sender.getGameProfile().getName());
+            }
         } else {
             LOGGER.error("Tried to fire chat callback for player '{}' with message '{}' when executor was not initialized!", sender.getGameProfile().getName(), chat);
         }
     }
 
+    /**
+     * Queue depth and latency metrics of the chat executor.
+     *
+     * @return the current metrics, or null if the executor isn't running
+     */
+    public StripedChatExecutor.@Nullable Metrics executorMetrics() {
+        final @Nullable StripedChatExecutor executor = this.chatExecutor;
+        return executor == null ? null : executor.metrics();
+    }
+
     private void fire(final MinecraftServer server, final ServerPlayer sender, final String chat) {
         final FabricServerAudiences fabricServerAudiences = FabricServerAudiences.of(server);
 
@@ -109,14 +121,22 @@ public enum ChatCallback {
             console.sendMessage(msgForConsole);
         }
 
+        // Most recipients end up with an equal component, convert each distinct one only once
+        final Map<Component, net.minecraft.network.chat.Component> converted = new HashMap<>();
+
         for (final ServerPlayer player : c.recipients()) {
-            final @Nullable Component rendered = formatter.format(sender, chat, fabricServerAudiences.audience(player));
+            final @Nullable Component rendered = formatter.format(sender, chat, this.audience(fabricServerAudiences, player));
             if (rendered != null) {
-                fabricServerAudiences.audience(player).sendMessage(c.identity(), rendered, MessageType.CHAT);
+                final net.minecraft.network.chat.Component message = converted.computeIfAbsent(rendered, fabricServerAudiences::toNative);
+                player.sendMessage(message, ChatType.CHAT, c.identity().uuid());
             }
         }
     }
 
+    private Audience audience(final FabricServerAudiences fabricServerAudiences, final ServerPlayer player) {
+        return this.audiences.computeIfAbsent(player, fabricServerAudiences::audience);
+    }
+
     public static void setup() {
         ServerLifecycleEvents.SERVER_STARTING.register(server -> INSTANCE.initExecutor());
         ServerLifecycleEvents.SERVER_STOPPED.register(server -> INSTANCE.shutdownExecutor());
@@ -0,0 +1,181 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.fabric.callback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import net.minecraft.util.thread.NamedThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Executes chat tasks on a fixed set of single threaded stripes.<br>
+ * Tasks for the same sender always land on the same stripe and therefore run in order,
+ * while tasks for different senders run in parallel. Each stripe has a bounded queue,
+ * tasks submitted to a full stripe are dropped.
+ */
+@DefaultQualifier(NonNull.class)
+public final class StripedChatExecutor {
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final ThreadPoolExecutor[] stripes;
+    private final int queueCapacity;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+
+    StripedChatExecutor(final int stripeCount, final int queueCapacity) {
+        this.stripes = new ThreadPoolExecutor[stripeCount];
+        this.queueCapacity = queueCapacity;
+
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new NamedThreadFactory("CarbonChat-Chat-Thread-" + i),
+                new ThreadPoolExecutor.AbortPolicy());
+        }
+    }
+
+    /**
+     * Queues the task on the sender's stripe.
+     *
+     * @param sender the sender the task belongs to
+     * @param task   the task
+     * @return false if the stripe's queue was full and the task was dropped
+     */
+    boolean execute(final UUID sender, final Runnable task) {
+        final ThreadPoolExecutor stripe = this.stripes[Math.floorMod(sender.hashCode(), this.stripes.length)];
+        final long queuedAt = System.nanoTime();
+
+        try {
+            stripe.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    final long latency = System.nanoTime() - queuedAt;
+
+                    this.completed.increment();
+                    this.totalLatencyNanos.add(latency);
+                    this.maxLatencyNanos.accumulateAndGet(latency, Math::max);
+                }
+            });
+        } catch (final RejectedExecutionException exception) {
+            this.rejected.increment();
+            return false;
+        }
+
+        this.submitted.increment();
+        this.maxQueueDepth.accumulateAndGet(stripe.getQueue().size(), Math::max);
+
+        return true;
+    }
+
+    /**
+     * Stops accepting tasks and waits for the queued ones to finish.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     */
+    void shutdown(final long timeout, final TimeUnit unit) {
+        for (final ThreadPoolExecutor stripe : this.stripes) {
+            stripe.shutdown();
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final List<Runnable> dropped = new ArrayList<>();
+
+        try {
+            for (final ThreadPoolExecutor stripe : this.stripes) {
+                final long remaining = deadline - System.nanoTime();
+
+                if (!stripe.awaitTermination(Math.max(0L, remaining), TimeUnit.NANOSECONDS)) {
+                    dropped.addAll(stripe.shutdownNow());
+                }
+            }
+        } catch (final InterruptedException exception) {
+            for (final ThreadPoolExecutor stripe : this.stripes) {
+                dropped.addAll(stripe.shutdownNow());
+            }
+
+            Thread.currentThread().interrupt();
+        }
+
+        if (!dropped.isEmpty()) {
+            LOGGER.warn("Timeout elapsed before chat tasks completed, dropped {} queued messages", dropped.size());
+        }
+
+        LOGGER.info("Chat executor stopped: {}", this.metrics());
+    }
+
+    public Metrics metrics() {
+        int queueDepth = 0;
+
+        for (final ThreadPoolExecutor stripe : this.stripes) {
+            queueDepth += stripe.getQueue().size();
+        }
+
+        final long completed = this.completed.sum();
+
+        return new Metrics(
+            this.stripes.length,
+            this.queueCapacity,
+            queueDepth,
+            this.maxQueueDepth.get(),
+            this.submitted.sum(),
+            completed,
+            this.rejected.sum(),
+            completed == 0 ? 0L : this.totalLatencyNanos.sum() / completed,
+            this.maxLatencyNanos.get()
+        );
+    }
+
+    /**
+     * A snapshot of the executor's queue and latency metrics.<br>
+     * Latencies are measured from submission until the task finished, in nanoseconds.
+     */
+    public record Metrics(
+        int stripes,
+        int queueCapacity,
+        int queueDepth,
+        long maxQueueDepth,
+        long submitted,
+        long completed,
+        long rejected,
+        long averageLatencyNanos,
+        long maxLatencyNanos
+    ) {
+
+    }
+
+}
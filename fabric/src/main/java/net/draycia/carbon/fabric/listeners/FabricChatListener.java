@@ -20,30 +20,30 @@
 package net.draycia.carbon.fabric.listeners;
 
 import java.util.ArrayList;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Consumer;
-import java.util.regex.Pattern;
-import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
-import net.draycia.carbon.api.users.ComponentPlayerResult;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.util.LinkUtils;
+import net.draycia.carbon.common.util.PlayerUtils;
+import net.draycia.carbon.common.util.RendererChain;
 import net.draycia.carbon.fabric.CarbonChatFabric;
 import net.draycia.carbon.fabric.callback.ChatCallback;
-import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
-import net.kyori.adventure.text.event.ClickEvent;
+import net.minecraft.server.level.ServerPlayer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import static java.util.Objects.requireNonNullElse;
-import static net.draycia.carbon.api.util.KeyedRenderer.keyedRenderer;
-import static net.kyori.adventure.key.Key.key;
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.text;
 
@@ -51,11 +51,9 @@ import static net.kyori.adventure.text.Component.text;
 public class FabricChatListener implements Consumer<ChatCallback.Chat> {
 
     private final CarbonChatFabric carbonChatFabric;
-    private final ChannelRegistry channelRegistry;
+    private final CarbonChannelRegistry channelRegistry;
 
-    private static final Pattern DEFAULT_URL_PATTERN = Pattern.compile("(?:(https?)://)?([-\\w_.]+\\.\\w{2,})(/\\S*)?");
-
-    public FabricChatListener(final CarbonChatFabric carbonChatFabric, final ChannelRegistry channelRegistry) {
+    public FabricChatListener(final CarbonChatFabric carbonChatFabric, final CarbonChannelRegistry channelRegistry) {
         this.carbonChatFabric = carbonChatFabric;
         this.channelRegistry = channelRegistry;
     }
@@ -71,35 +69,29 @@ public class FabricChatListener implements Consumer<ChatCallback.Chat> {
 
         var channel = requireNonNullElse(sender.selectedChannel(), this.channelRegistry.defaultValue());
         final var originalMessage = chat.message();
-        Component eventMessage = text(chat.message());
+        Component eventMessage;
 
         if (sender.hasPermission("carbon.chatlinks")) {
-            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                .match(DEFAULT_URL_PATTERN)
-                .replacement(builder -> builder.clickEvent(ClickEvent.clickEvent(ClickEvent.Action.OPEN_URL, builder.content())))
-                .build());
+            eventMessage = LinkUtils.linkify(originalMessage);
+        } else {
+            eventMessage = text(originalMessage);
         }
 
-        for (final var chatChannel : this.channelRegistry) {
-            if (chatChannel.quickPrefix() == null) {
-                continue;
-            }
+        final @Nullable ChatChannel prefixedChannel = this.channelRegistry.channelByPrefix(sender, originalMessage);
 
-            if (originalMessage.startsWith(chatChannel.quickPrefix()) && chatChannel.speechPermitted(sender).permitted()) {
-                channel = chatChannel;
-                eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                    .once()
-                    .matchLiteral(channel.quickPrefix())
-                    .replacement(text())
-                    .build());
-                break;
-            }
+        if (prefixedChannel != null) {
+            channel = prefixedChannel;
+            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
+                .once()
+                .matchLiteral(channel.quickPrefix())
+                .replacement(text())
+                .build());
         }
 
-        final var recipients = channel.recipients(sender);
+        final var recipients = new ArrayList<>(channel.recipients(sender));
 
-        final var renderers = new ArrayList<KeyedRenderer>();
-        renderers.add(keyedRenderer(key("carbon", "default"), channel));
+        final var renderers = new ArrayList<KeyedRenderer>(4);
+        renderers.add(this.channelRegistry.channelRenderer(channel));
 
         final var chatEvent = new CarbonChatEvent(sender, eventMessage, recipients, renderers, channel);
         final var result = this.carbonChatFabric.eventHandler().emit(chatEvent);
@@ -118,25 +110,26 @@ public class FabricChatListener implements Consumer<ChatCallback.Chat> {
             chat.identity(Identity.nil());
         }
 
-        chat.formatter((sender1, message, viewer) -> {
-            var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
-
-            for (final var renderer : chatEvent.renderers()) {
-                try {
-                    final Optional<UUID> uuid = viewer.get(Identity.UUID);
-                    if (uuid.isPresent()) {
-                        final ComponentPlayerResult<CarbonPlayer> targetPlayer = this.carbonChatFabric.server().player(uuid.get()).join();
-
-                        renderedMessage = renderer.render(sender, targetPlayer.player(), renderedMessage.component(), chatEvent.message());
-                    } else {
-                        renderedMessage = renderer.render(sender, viewer, renderedMessage.component(), chatEvent.message());
-                    }
-                } catch (final Exception e) {
-                    e.printStackTrace();
+        // Resolve recipients once up front, the formatter runs per viewer and must not block
+        final Map<UUID, CarbonPlayer> recipientPlayers = PlayerUtils.recipientPlayers(chatEvent.recipients());
+
+        for (final ServerPlayer player : chat.recipients()) {
+            if (!recipientPlayers.containsKey(player.getUUID())) {
+                final @Nullable CarbonPlayer carbonPlayer = this.carbonChatFabric.server().player(player.getUUID()).join().player();
+
+                if (carbonPlayer != null) {
+                    recipientPlayers.put(carbonPlayer.uuid(), carbonPlayer);
                 }
             }
+        }
+
+        final RendererChain rendererChain = RendererChain.of(chatEvent.renderers());
+
+        chat.formatter((sender1, message, viewer) -> {
+            final Optional<UUID> uuid = viewer.get(Identity.UUID);
+            final Audience target = uuid.isPresent() ? requireNonNullElse(recipientPlayers.get(uuid.get()), viewer) : viewer;
 
-            return renderedMessage.component();
+            return rendererChain.renderComponent(sender, target, chatEvent.message(), chatEvent.message());
         });
     }
 
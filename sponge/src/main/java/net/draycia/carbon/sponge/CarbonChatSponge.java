@@ -33,8 +33,12 @@ import net.draycia.carbon.api.events.CarbonEventHandler;
 import net.draycia.carbon.api.users.UserManager;
 import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.channels.ChannelFileWatcher;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.ChatRelay;
+import net.draycia.carbon.common.messaging.PlayerDirectory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
+import net.draycia.carbon.common.users.PlayerStateSync;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.draycia.carbon.common.util.ListenerUtils;
 import net.draycia.carbon.common.util.PlayerUtils;
@@ -231,6 +235,11 @@ public final class CarbonChatSponge implements CarbonChat {
 
     @Listener
     public void onDisable(final StoppingEngineEvent<Server> event) {
+        this.injector.getInstance(ChannelFileWatcher.class).stop();
+        this.injector.getInstance(ChatRelay.class).stop();
+        this.injector.getInstance(PlayerDirectory.class).stop();
+        this.injector.getInstance(PlayerStateSync.class).stop();
+        this.eventHandler.shutdown();
         PlayerUtils.saveLoggedInPlayers(this.carbonServerSponge, this.userManager).forEach(CompletableFuture::join);
     }
 
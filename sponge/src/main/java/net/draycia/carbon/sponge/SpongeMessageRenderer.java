@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.messages.StaticMessageCache;
 import net.draycia.carbon.common.util.ChatType;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.MessageType;
@@ -43,10 +44,12 @@ import org.checkerframework.framework.qual.DefaultQualifier;
 public class SpongeMessageRenderer<T extends Audience> implements IMessageRenderer<T, String, RenderedMessage, Component> {
 
     private final ConfigFactory configFactory;
+    private final StaticMessageCache staticMessages;
 
     @Inject
-    public SpongeMessageRenderer(final ConfigFactory configFactory) {
+    public SpongeMessageRenderer(final ConfigFactory configFactory, final StaticMessageCache staticMessages) {
         this.configFactory = configFactory;
+        this.staticMessages = staticMessages;
     }
 
     @Override
@@ -56,6 +59,19 @@ public class SpongeMessageRenderer<T extends Audience> implements IMessageRender
         final Map<String, ? extends Component> resolvedPlaceholders,
         final Method method,
         final Type owner
+    ) {
+        if (resolvedPlaceholders.isEmpty()) {
+            return this.staticMessages.render(method, intermediateMessage,
+                () -> this.renderMessage(intermediateMessage, resolvedPlaceholders, method));
+        }
+
+        return this.renderMessage(intermediateMessage, resolvedPlaceholders, method);
+    }
+
+    private RenderedMessage renderMessage(
+        final String intermediateMessage,
+        final Map<String, ? extends Component> resolvedPlaceholders,
+        final Method method
     ) {
         final List<TagResolver> placeholders = new ArrayList<>();
 
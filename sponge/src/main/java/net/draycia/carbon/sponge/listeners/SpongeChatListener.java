@@ -22,29 +22,29 @@ package net.draycia.carbon.sponge.listeners;
 import com.google.inject.Inject;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.UUID;
 import net.draycia.carbon.api.CarbonChat;
-import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
-import net.draycia.carbon.api.users.ComponentPlayerResult;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.util.LinkUtils;
+import net.draycia.carbon.common.util.PlayerUtils;
+import net.draycia.carbon.common.util.RendererChain;
 import net.draycia.carbon.sponge.CarbonChatSponge;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
-import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
-import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.spongepowered.api.entity.living.player.Player;
-import org.spongepowered.api.entity.living.player.server.ServerPlayer;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.filter.IsCancelled;
 import org.spongepowered.api.event.filter.cause.First;
@@ -52,8 +52,6 @@ import org.spongepowered.api.event.message.PlayerChatEvent;
 import org.spongepowered.api.util.Tristate;
 
 import static java.util.Objects.requireNonNullElse;
-import static net.draycia.carbon.api.util.KeyedRenderer.keyedRenderer;
-import static net.kyori.adventure.key.Key.key;
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.text;
 
@@ -61,14 +59,12 @@ import static net.kyori.adventure.text.Component.text;
 public final class SpongeChatListener {
 
     private final CarbonChatSponge carbonChat;
-    private final ChannelRegistry registry;
-
-    private static final Pattern DEFAULT_URL_PATTERN = Pattern.compile("(?:(https?)://)?([-\\w_.]+\\.\\w{2,})(/\\S*)?");
+    private final CarbonChannelRegistry registry;
 
     @Inject
     private SpongeChatListener(
         final CarbonChat carbonChat,
-        final ChannelRegistry registry
+        final CarbonChannelRegistry registry
     ) {
         this.carbonChat = (CarbonChatSponge) carbonChat;
         this.registry = registry;
@@ -90,26 +86,18 @@ public final class SpongeChatListener {
         var eventMessage = event.message();
 
         if (sender.hasPermission("carbon.chatlinks")) {
-            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                .match(DEFAULT_URL_PATTERN)
-                .replacement(builder -> builder.clickEvent(ClickEvent.clickEvent(ClickEvent.Action.OPEN_URL, builder.content())))
-                .build());
+            eventMessage = LinkUtils.linkify(eventMessage);
         }
 
-        for (final var chatChannel : this.registry) {
-            if (chatChannel.quickPrefix() == null) {
-                continue;
-            }
+        final @Nullable ChatChannel prefixedChannel = this.registry.channelByPrefix(sender, messageContents);
 
-            if (messageContents.startsWith(chatChannel.quickPrefix()) && chatChannel.speechPermitted(sender).permitted()) {
-                channel = chatChannel;
-                eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                    .once()
-                    .matchLiteral(channel.quickPrefix())
-                        .replacement(text())
-                    .build());
-                break;
-            }
+        if (prefixedChannel != null) {
+            channel = prefixedChannel;
+            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
+                .once()
+                .matchLiteral(channel.quickPrefix())
+                .replacement(text())
+                .build());
         }
 
         final List<Audience> recipients;
@@ -122,14 +110,14 @@ public final class SpongeChatListener {
 
                 forwardingAudience.forEachAudience(recipients::add);
             } else {
-                recipients = channel.recipients(sender);
+                recipients = new ArrayList<>(channel.recipients(sender));
             }
         } else {
-            recipients = channel.recipients(sender);
+            recipients = new ArrayList<>(channel.recipients(sender));
         }
 
-        final var renderers = new ArrayList<KeyedRenderer>();
-        renderers.add(keyedRenderer(key("carbon", "default"), channel));
+        final var renderers = new ArrayList<KeyedRenderer>(4);
+        renderers.add(this.registry.channelRenderer(channel));
 
         final var chatEvent = new CarbonChatEvent(sender, eventMessage, recipients, renderers, channel);
         final var result = this.carbonChat.eventHandler().emit(chatEvent);
@@ -151,38 +139,21 @@ public final class SpongeChatListener {
             // Do we log something here? Would get spammy fast.
         }
 
+        // Resolve recipients once up front, the formatter runs per target and must not block
+        final Map<UUID, CarbonPlayer> recipientPlayers = PlayerUtils.recipientPlayers(chatEvent.recipients());
+        final RendererChain rendererChain = RendererChain.of(chatEvent.renderers());
+
         if (sender.hasPermission("carbon.hideidentity")) {
             for (final var recipient : chatEvent.recipients()) {
-                var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
-
-                for (final var renderer : chatEvent.renderers()) {
-                    try {
-                        if (recipient instanceof Player player) {
-                            final ComponentPlayerResult<CarbonPlayer> targetPlayer = this.carbonChat.server().player(player).join();
-
-                            renderedMessage = renderer.render(sender, targetPlayer.player(), renderedMessage.component(), chatEvent.message());
-                        } else {
-                            renderedMessage = renderer.render(sender, recipient, renderedMessage.component(), chatEvent.message());
-                        }
-                    } catch (final Exception e) {
-                        e.printStackTrace();
-                    }
-                }
+                final Audience target = renderTarget(recipientPlayers, recipient);
+                final var renderedMessage = rendererChain.render(sender, target, chatEvent.message(), chatEvent.message());
 
                 recipient.sendMessage(Identity.nil(), renderedMessage.component(), renderedMessage.messageType());
             }
         } else {
             event.setChatFormatter((player, target, msg, originalMessage) -> {
-                Component component = msg;
-
-                for (final var renderer : chatEvent.renderers()) {
-                    if (target instanceof ServerPlayer serverPlayer) {
-                        final ComponentPlayerResult<CarbonPlayer> targetPlayer = this.carbonChat.server().player(serverPlayer).join();
-                        component = renderer.render(playerResult.player(), targetPlayer.player(), component, msg).component();
-                    } else {
-                        component = renderer.render(playerResult.player(), target, component, msg).component();
-                    }
-                }
+                final Audience renderTarget = renderTarget(recipientPlayers, target);
+                final Component component = rendererChain.renderComponent(sender, renderTarget, msg, msg);
 
                 if (component == Component.empty()) {
                     return Optional.empty();
@@ -193,4 +164,12 @@ public final class SpongeChatListener {
         }
     }
 
+    private static Audience renderTarget(final Map<UUID, CarbonPlayer> recipientPlayers, final Audience target) {
+        if (target instanceof Player player) {
+            return requireNonNullElse(recipientPlayers.get(player.uniqueId()), target);
+        }
+
+        return target;
+    }
+
 }
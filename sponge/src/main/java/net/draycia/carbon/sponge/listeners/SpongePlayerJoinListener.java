@@ -22,6 +22,7 @@ package net.draycia.carbon.sponge.listeners;
 import com.google.inject.Inject;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.UserManager;
+import net.draycia.carbon.common.channels.ChatHistory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
 import net.draycia.carbon.common.util.PlayerUtils;
 import net.draycia.carbon.sponge.users.CarbonPlayerSponge;
@@ -35,14 +36,30 @@ public class SpongePlayerJoinListener {
 
     private final CarbonChat carbonChat;
     private final UserManager<CarbonPlayerCommon> userManager;
+    private final ChatHistory chatHistory;
 
     @Inject
     public SpongePlayerJoinListener(
         final CarbonChat carbonChat,
-        final UserManager<CarbonPlayerCommon> userManager
+        final UserManager<CarbonPlayerCommon> userManager,
+        final ChatHistory chatHistory
     ) {
         this.carbonChat = carbonChat;
         this.userManager = userManager;
+        this.chatHistory = chatHistory;
+    }
+
+    @Listener
+    public void onPlayerJoin(final ServerSideConnectionEvent.Join event) {
+        if (!this.chatHistory.settings().enabled() || !this.chatHistory.settings().replayOnJoin()) {
+            return;
+        }
+
+        this.carbonChat.server().player(event.player().uniqueId()).thenAccept(result -> {
+            if (result.player() != null) {
+                this.chatHistory.replaySelected(result.player());
+            }
+        });
     }
 
     @Listener
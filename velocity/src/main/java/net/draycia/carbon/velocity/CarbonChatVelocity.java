@@ -23,6 +23,7 @@ import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
+import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
 import com.velocitypowered.api.plugin.Dependency;
 import com.velocitypowered.api.plugin.Plugin;
 import com.velocitypowered.api.plugin.PluginContainer;
@@ -36,7 +37,10 @@ import net.draycia.carbon.api.channels.ChannelRegistry;
 import net.draycia.carbon.api.events.CarbonEventHandler;
 import net.draycia.carbon.api.util.RenderedMessage;
 import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.channels.ChannelFileWatcher;
 import net.draycia.carbon.common.messages.CarbonMessageService;
+import net.draycia.carbon.common.messaging.ChatRelay;
+import net.draycia.carbon.common.users.PlayerStateSync;
 import net.draycia.carbon.common.util.CloudUtils;
 import net.draycia.carbon.common.util.ListenerUtils;
 import net.draycia.carbon.velocity.listeners.VelocityChatListener;
@@ -119,6 +123,14 @@ public class CarbonChatVelocity implements CarbonChat {
         CloudUtils.registerCommands(commandSettings);
     }
 
+    @Subscribe
+    public void onProxyShutdown(final ProxyShutdownEvent event) {
+        this.injector.getInstance(ChannelFileWatcher.class).stop();
+        this.injector.getInstance(ChatRelay.class).stop();
+        this.injector.getInstance(PlayerStateSync.class).stop();
+        this.eventHandler.shutdown();
+    }
+
     @Override
     public Logger logger() {
         return this.logger;
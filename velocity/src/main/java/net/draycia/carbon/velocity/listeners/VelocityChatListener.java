@@ -23,26 +23,23 @@ import com.google.inject.Inject;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.player.PlayerChatEvent;
 import java.util.ArrayList;
-import java.util.regex.Pattern;
 import net.draycia.carbon.api.CarbonChat;
-import net.draycia.carbon.api.channels.ChannelRegistry;
+import net.draycia.carbon.api.channels.ChatChannel;
 import net.draycia.carbon.api.events.CarbonChatEvent;
 import net.draycia.carbon.api.users.CarbonPlayer;
 import net.draycia.carbon.api.util.KeyedRenderer;
-import net.draycia.carbon.api.util.RenderedMessage;
+import net.draycia.carbon.common.channels.CarbonChannelRegistry;
+import net.draycia.carbon.common.util.LinkUtils;
+import net.draycia.carbon.common.util.RendererChain;
 import net.draycia.carbon.velocity.CarbonChatVelocity;
-import net.kyori.adventure.audience.MessageType;
 import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextReplacementConfig;
-import net.kyori.adventure.text.event.ClickEvent;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 
 import static java.util.Objects.requireNonNullElse;
-import static net.draycia.carbon.api.util.KeyedRenderer.keyedRenderer;
-import static net.kyori.adventure.key.Key.key;
 import static net.kyori.adventure.text.Component.empty;
 import static net.kyori.adventure.text.Component.text;
 
@@ -50,12 +47,10 @@ import static net.kyori.adventure.text.Component.text;
 public final class VelocityChatListener {
 
     private final CarbonChatVelocity carbonChat;
-    private final ChannelRegistry registry;
-
-    private static final Pattern DEFAULT_URL_PATTERN = Pattern.compile("(?:(https?)://)?([-\\w_.]+\\.\\w{2,})(/\\S*)?");
+    private final CarbonChannelRegistry registry;
 
     @Inject
-    private VelocityChatListener(final CarbonChat carbonChat, final ChannelRegistry registry) {
+    private VelocityChatListener(final CarbonChat carbonChat, final CarbonChannelRegistry registry) {
         this.carbonChat = (CarbonChatVelocity) carbonChat;
         this.registry = registry;
     }
@@ -78,35 +73,29 @@ public final class VelocityChatListener {
         var channel = requireNonNullElse(sender.selectedChannel(), this.registry.defaultValue());
 
         final var originalMessage = event.getMessage();
-        Component eventMessage = text(event.getMessage());
+        Component eventMessage;
 
         if (sender.hasPermission("carbon.chatlinks")) {
-            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                .match(DEFAULT_URL_PATTERN)
-                .replacement(builder -> builder.clickEvent(ClickEvent.clickEvent(ClickEvent.Action.OPEN_URL, builder.content())))
-                .build());
+            eventMessage = LinkUtils.linkify(originalMessage);
+        } else {
+            eventMessage = text(originalMessage);
         }
 
-        for (final var chatChannel : this.registry) {
-            if (chatChannel.quickPrefix() == null) {
-                continue;
-            }
+        final @Nullable ChatChannel prefixedChannel = this.registry.channelByPrefix(sender, originalMessage);
 
-            if (originalMessage.startsWith(chatChannel.quickPrefix()) && chatChannel.speechPermitted(sender).permitted()) {
-                channel = chatChannel;
-                eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
-                    .once()
-                    .matchLiteral(channel.quickPrefix())
-                    .replacement(text())
-                    .build());
-                break;
-            }
+        if (prefixedChannel != null) {
+            channel = prefixedChannel;
+            eventMessage = eventMessage.replaceText(TextReplacementConfig.builder()
+                .once()
+                .matchLiteral(channel.quickPrefix())
+                .replacement(text())
+                .build());
         }
 
-        final var recipients = channel.recipients(sender);
+        final var recipients = new ArrayList<>(channel.recipients(sender));
 
-        final var renderers = new ArrayList<KeyedRenderer>();
-        renderers.add(keyedRenderer(key("carbon", "default"), channel));
+        final var renderers = new ArrayList<KeyedRenderer>(4);
+        renderers.add(this.registry.channelRenderer(channel));
 
         final var chatEvent = new CarbonChatEvent(sender, eventMessage, recipients, renderers, channel);
         final var result = this.carbonChat.eventHandler().emit(chatEvent);
@@ -121,14 +110,11 @@ public final class VelocityChatListener {
             return;
         }
 
-        for (final var recipient : chatEvent.recipients()) {
-            var renderedMessage = new RenderedMessage(chatEvent.message(), MessageType.CHAT);
+        final RendererChain rendererChain = RendererChain.of(chatEvent.renderers());
+        final Identity identity = sender.hasPermission("carbon.hideidentity") ? Identity.nil() : sender.identity();
 
-            for (final var renderer : chatEvent.renderers()) {
-                renderedMessage = renderer.render(sender, recipient, renderedMessage.component(), chatEvent.message());
-            }
-
-            final Identity identity = sender.hasPermission("carbon.hideidentity") ? Identity.nil() : sender.identity();
+        for (final var recipient : chatEvent.recipients()) {
+            final var renderedMessage = rendererChain.render(sender, recipient, chatEvent.message(), chatEvent.message());
 
             if (!(recipient instanceof CarbonPlayer)) {
                 recipient.sendMessage(identity, renderedMessage.component());
@@ -22,8 +22,10 @@ package net.draycia.carbon.velocity.listeners;
 import com.google.inject.Inject;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.connection.DisconnectEvent;
+import com.velocitypowered.api.event.player.ServerPostConnectEvent;
 import net.draycia.carbon.api.CarbonChat;
 import net.draycia.carbon.api.users.UserManager;
+import net.draycia.carbon.common.channels.ChatHistory;
 import net.draycia.carbon.common.users.CarbonPlayerCommon;
 import net.draycia.carbon.common.util.PlayerUtils;
 import net.draycia.carbon.velocity.users.CarbonPlayerVelocity;
@@ -35,14 +37,35 @@ public class VelocityPlayerJoinListener {
 
     private final CarbonChat carbonChat;
     private final UserManager<CarbonPlayerCommon> userManager;
+    private final ChatHistory chatHistory;
 
     @Inject
     public VelocityPlayerJoinListener(
         final CarbonChat carbonChat,
-        final UserManager<CarbonPlayerCommon> userManager
+        final UserManager<CarbonPlayerCommon> userManager,
+        final ChatHistory chatHistory
     ) {
         this.carbonChat = carbonChat;
         this.userManager = userManager;
+        this.chatHistory = chatHistory;
+    }
+
+    @Subscribe
+    public void onPlayerJoin(final ServerPostConnectEvent event) {
+        // Only replay once the first backend is connected, so its join output comes first
+        if (event.getPreviousServer() != null) {
+            return;
+        }
+
+        if (!this.chatHistory.settings().enabled() || !this.chatHistory.settings().replayOnJoin()) {
+            return;
+        }
+
+        this.carbonChat.server().player(event.getPlayer().getUniqueId()).thenAccept(result -> {
+            if (result.player() != null) {
+                this.chatHistory.replaySelected(result.player());
+            }
+        });
     }
 
     @Subscribe
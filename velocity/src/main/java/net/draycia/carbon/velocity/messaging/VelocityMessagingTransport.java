@@ -0,0 +1,133 @@
+/*
+ * CarbonChat
+ *
+ * Copyright (c) 2021 Josua Parks (Vicarious)
+ *                    Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package net.draycia.carbon.velocity.messaging;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.PluginMessageEvent;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.ServerConnection;
+import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import net.draycia.carbon.api.CarbonChat;
+import net.draycia.carbon.common.config.ConfigFactory;
+import net.draycia.carbon.common.messaging.MessagingTransport;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+
+/**
+ * Exchanges payloads with the backend servers over plugin messaging.<br>
+ * Payloads received from one backend are forwarded to every other backend, so the proxy
+ * acts as the hub of the network.<br>
+ * Payloads sent by players are never accepted or passed on. When messaging is disabled
+ * in the config, payloads from backends are dropped too.
+ */
+@Singleton
+@DefaultQualifier(NonNull.class)
+public final class VelocityMessagingTransport implements MessagingTransport {
+
+    private static final MinecraftChannelIdentifier IDENTIFIER = MinecraftChannelIdentifier.from(CHANNEL);
+
+    private final ProxyServer proxyServer;
+    private final Logger logger;
+    private final boolean enabled;
+    private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+    @Inject
+    public VelocityMessagingTransport(
+        final ProxyServer proxyServer,
+        final CarbonChat carbonChat,
+        final ConfigFactory configFactory,
+        final Logger logger
+    ) {
+        this.proxyServer = proxyServer;
+        this.logger = logger;
+        this.enabled = configFactory.primaryConfig().messaging().enabled();
+
+        // Registered either way, so players can't reach the backends' channel through the proxy
+        proxyServer.getChannelRegistrar().register(IDENTIFIER);
+        proxyServer.getEventManager().register(carbonChat, this);
+    }
+
+    @Override
+    public boolean available() {
+        return this.enabled;
+    }
+
+    @Override
+    public boolean hub() {
+        return true;
+    }
+
+    @Override
+    public void send(final byte[] payload) {
+        if (this.enabled) {
+            this.forward(payload, null);
+        }
+    }
+
+    @Override
+    public void receiver(final Consumer<byte[]> receiver) {
+        this.receivers.add(receiver);
+    }
+
+    @Subscribe
+    public void onPluginMessage(final PluginMessageEvent event) {
+        if (!event.getIdentifier().equals(IDENTIFIER)) {
+            return;
+        }
+
+        // Never pass these on to players or servers ourselves
+        event.setResult(PluginMessageEvent.ForwardResult.handled());
+
+        if (!this.enabled || !(event.getSource() instanceof ServerConnection source)) {
+            return;
+        }
+
+        final byte[] payload = event.getData();
+
+        this.forward(payload, source.getServer());
+
+        for (final Consumer<byte[]> receiver : this.receivers) {
+            receiver.accept(payload);
+        }
+    }
+
+    private void forward(final byte[] payload, final @Nullable RegisteredServer origin) {
+        if (payload.length > MAX_PAYLOAD_BYTES) {
+            this.logger.error("Dropped a payload of {} bytes, plugin messages can be at most {} bytes", payload.length, MAX_PAYLOAD_BYTES);
+            return;
+        }
+
+        for (final RegisteredServer server : this.proxyServer.getAllServers()) {
+            if (!server.equals(origin)) {
+                // Returns false for servers without players, they can't be reached
+                server.sendPluginMessage(IDENTIFIER, payload);
+            }
+        }
+    }
+
+}